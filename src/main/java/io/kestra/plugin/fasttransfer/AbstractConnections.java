@@ -0,0 +1,133 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.fasttransfer.dialect.KeyColumn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source and target connection settings, for the tasks that read both sides through JDBC; the tasks running the
+ * FastTransfer binary add its tuning through {@link AbstractFastTransfer}.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractConnections extends AbstractSourceConnection {
+    @Schema(title = "Target connection type", description = "Target connection type (e.g., pgcopy, mysqlbulk)")
+    private Property<String> targetConnectionType;
+
+    @Schema(title = "Target connect string", description = "Connection string for target")
+    private Property<String> targetConnectString;
+
+    @Schema(title = "Target server", description = "Target SQL server address")
+    private Property<String> targetServer;
+
+    @Schema(title = "Target user", description = "Username for target connection")
+    private Property<String> targetUser;
+
+    @Schema(title = "Target password", description = "Password for target connection")
+    private Property<String> targetPassword;
+
+    @Schema(title = "Target trusted", description = "Use trusted authentication for target")
+    private Property<Boolean> targetTrusted;
+
+    @Schema(title = "Target database", description = "Target database name")
+    private Property<String> targetDatabase;
+
+    @Schema(title = "Target schema", description = "Target schema name")
+    private Property<String> targetSchema;
+
+    @Schema(
+        title = "Target JDBC URL",
+        description = "JDBC URL used by the features that read or prepare the target. Defaults to a URL built from `targetConnectionType`, `targetServer` and `targetDatabase`. " +
+            "The JDBC driver of the engine is not shipped with the plugin and must be on the classpath of the Kestra instance."
+    )
+    private Property<String> targetJdbcUrl;
+
+    @Schema(title = "Column map method", description = "Mapping method for columns (Position or Name)")
+    private Property<String> mapMethod;
+
+    @Override
+    protected Map<String, Property<?>> parameters() {
+        Map<String, Property<?>> params = super.parameters();
+        params.put("--targetconnectiontype", targetConnectionType);
+        params.put("--targetconnectstring", targetConnectString);
+        params.put("--targetserver", targetServer);
+        params.put("--targetuser", targetUser);
+        params.put("--targetpassword", targetPassword);
+        params.put("--targettrusted", targetTrusted);
+        params.put("--targetdatabase", targetDatabase);
+        params.put("--targetschema", targetSchema);
+        params.put("--mapmethod", mapMethod);
+        return params;
+    }
+
+    JdbcEndpoint targetEndpoint(RunContext runContext, FastTransferCommand command) throws Exception {
+        return JdbcEndpoint.target(command, runContext.render(targetJdbcUrl).as(String.class).orElse(null));
+    }
+
+    /**
+     * Compare the source and the target table of the command range by range of a numeric key, see
+     * {@link RangeComparison}.
+     *
+     * @param keyColumn the key the ranges are taken on, the first numeric key column of the source table when {@code null}
+     */
+    protected VerificationOutput verify(RunContext runContext, FastTransferCommand command, String keyColumn, int ranges, int concurrency) throws Exception {
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        JdbcEndpoint target = targetEndpoint(runContext, command);
+        String key = keyColumn != null ? keyColumn : numericKey(source, command);
+
+        RangeComparison comparison = RangeComparison.prepare(
+            source, () -> SourceQuery.of(source.dialect(), command),
+            target, () -> SourceQuery.table(target.dialect(), command.get("--targetschema"), command.get("--targettable")),
+            key,
+            concurrency,
+            command.get("--mapmethod")
+        );
+        List<RangeComparison.Result> results = comparison.compare(comparison.ranges(ranges));
+
+        List<VerificationOutput.Mismatch> mismatches = results.stream()
+            .filter(result -> !result.matches())
+            .map(VerificationOutput.Mismatch::of)
+            .toList();
+        long sourceRows = results.stream().mapToLong(result -> result.source().rows()).sum();
+        long targetRows = results.stream().mapToLong(result -> result.target().rows()).sum();
+
+        runContext.logger().info(
+            "Verified {} ranges of {}{}: {} source rows, {} target rows, {} ranges differ",
+            results.size(), key, comparison.hashed() ? " by row counts and hashes" : " by row counts", sourceRows, targetRows, mismatches.size()
+        );
+
+        return VerificationOutput.builder()
+            .keyColumn(key)
+            .ranges(results.size())
+            .hashed(comparison.hashed())
+            .sourceRows(sourceRows)
+            .targetRows(targetRows)
+            .mismatches(mismatches)
+            .build();
+    }
+
+    static String numericKey(JdbcEndpoint source, FastTransferCommand command) throws Exception {
+        String table = command.sourceTable();
+        if (table == null) {
+            throw new IllegalArgumentException("A key column is required to compare the result of a query");
+        }
+
+        try (Connection connection = source.connect()) {
+            return source.dialect().keyColumns(connection, command.get("--sourceschema"), table).stream()
+                .filter(KeyColumn::numeric)
+                .findFirst()
+                .map(KeyColumn::name)
+                .orElseThrow(() -> new IllegalArgumentException("No numeric key column found on " + table + ", a key column is required"));
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package io.kestra.plugin.fasttransfer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.slf4j.Logger;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Tuning and process settings shared by the tasks that run the FastTransfer binary.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractFastTransfer extends AbstractConnections {
+    @Schema(title = "Degree of parallelism", description = "Degree of parallelism (0 = Auto)")
+    private Property<Integer> degree;
+
+    @Schema(title = "Parallel method", description = "Parallel split method (e.g., Random, DataDriven, None)")
+    private Property<String> method;
+
+    @Schema(title = "Distribute key column", description = "Column used to distribute data")
+    private Property<String> distributeKeyColumn;
+
+    @Schema(title = "Data driven query", description = "SQL query to retrieve data-driven values")
+    private Property<String> dataDrivenQuery;
+
+    @Schema(title = "Load mode", description = "Load mode (Append or Truncate). The `FastTransfer` task also accepts Merge, see `mergeKeyColumns`, " +
+        "and Swap, loading a shadow table swapped with the target in one transaction once loaded. " +
+        "Swap is not supported on Oracle, and rejected before the load for a target referenced by foreign keys, by views on PostgreSQL, " +
+        "with serial or identity columns on PostgreSQL, or with CHECK constraints on SQL Server.")
+    private Property<String> loadMode;
+
+    @Schema(title = "Batch size", description = "Batch size for bulk copy")
+    private Property<Integer> batchSize;
+
+    @Schema(title = "Use work tables", description = "Use intermediate work tables")
+    private Property<Boolean> useWorkTables;
+
+    @Schema(title = "Run ID", description = "Run identifier for logging")
+    private Property<String> runId;
+
+    @Schema(title = "Settings file", description = "Path to settings file")
+    private Property<String> settingsFile;
+
+    @Schema(title = "License file path or URL", description = "Path or URL of the license file. If not provided, FastTransfer will look for a local FastTransfer.lic file next to the binary.")
+    private Property<String> license;
+
+    @Schema(
+        title = "Maximum concurrent transfers on the target",
+        description = "Maximum number of FastTransfer processes of this worker loading into the same target server and database at the same time. Further transfers wait for a slot. " +
+            "The wait is reported as the `target.queued` timer metric."
+    )
+    private Property<Integer> targetMaxConcurrentTransfers;
+
+    @Schema(
+        title = "Maximum total degree on the target",
+        description = "Maximum total degree of parallelism of the FastTransfer processes of this worker loading into the same target server and database."
+    )
+    private Property<Integer> targetMaxDegree;
+
+    @Schema(
+        title = "Allow degree scale down",
+        description = "When the target or worker-wide parallelism budget cannot admit the full `degree`, start with the remaining degree instead of waiting for it to be available. " +
+            "The budget defaults to the number of processors of the worker and can be changed with the `fasttransfer.governor.max-degree` and `fasttransfer.governor.max-processes` system properties."
+    )
+    @Builder.Default
+    private Property<Boolean> allowDegreeScaleDown = Property.of(true);
+
+    @Schema(
+        title = "Adaptive batch size",
+        description = "When `batchSize` is not set, record the throughput of each run per source and target table in the KV store of the namespace, " +
+            "and use the batch size that performed best so far, " + BatchSizeTuner.DEFAULT_BATCH_SIZE + " rows until a run was measured. One run in five tries half or double that batch size instead. " +
+            "Off by default, FastTransfer then uses its own batch size, or the one of `planning: AUTO`."
+    )
+    @Builder.Default
+    private Property<Boolean> adaptiveBatchSize = Property.of(false);
+
+    @Schema(
+        title = "Kill grace period",
+        description = "When the execution is killed or times out, how long the FastTransfer process and its children are given to stop gracefully before being forcibly terminated."
+    )
+    @Builder.Default
+    private Property<Duration> killGracePeriod = Property.of(RunningProcesses.DEFAULT_GRACE_PERIOD);
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JsonIgnore
+    @Builder.Default
+    private transient RunningProcesses running = new RunningProcesses();
+
+    @Override
+    protected Map<String, Property<?>> parameters() {
+        Map<String, Property<?>> params = super.parameters();
+        params.put("--degree", degree);
+        params.put("--method", method);
+        params.put("--distributekeycolumn", distributeKeyColumn);
+        params.put("--datadrivenquery", dataDrivenQuery);
+        params.put("--loadmode", loadMode);
+        params.put("--batchsize", batchSize);
+        params.put("--useworktables", useWorkTables);
+        params.put("--runid", runId);
+        params.put("--settingsfile", settingsFile);
+        params.put("--license", license);
+        return params;
+    }
+
+    @Override
+    protected FastTransferCommand renderCommand(RunContext runContext) throws Exception {
+        running.gracePeriod(runContext.render(killGracePeriod).as(Duration.class).orElse(RunningProcesses.DEFAULT_GRACE_PERIOD));
+        return super.renderCommand(runContext);
+    }
+
+    /**
+     * Admit and run one FastTransfer process, streaming its output to the logger, the log file and the metrics.
+     *
+     * @param label prefix of the forwarded log lines and tag of the metrics when several transfers share the task, or {@code null}
+     */
+    protected TransferResult transfer(RunContext runContext, Path executable, FastTransferCommand command, String label) throws Exception {
+        return transfer(runContext, executable, command, label, null);
+    }
+
+    /**
+     * @param admitted opened once the transfer is admitted, right before the process starts, and closed once it ended,
+     *     whether it succeeded or not; {@code null} for none
+     */
+    protected TransferResult transfer(
+        RunContext runContext,
+        Path executable,
+        FastTransferCommand command,
+        String label,
+        Callable<? extends AutoCloseable> admitted
+    ) throws Exception {
+        Logger logger = runContext.logger();
+        String prefix = label == null ? "" : "[" + label + "] ";
+
+        boolean scaleDown = runContext.render(allowDegreeScaleDown).as(Boolean.class).orElse(true);
+        Integer maxTransfers = runContext.render(targetMaxConcurrentTransfers).as(Integer.class).orElse(null);
+        Integer maxTargetDegree = runContext.render(targetMaxDegree).as(Integer.class).orElse(null);
+
+        BatchSizeTuner tuner = tuneBatchSize(runContext, command, prefix);
+        int tunedBatchSize = tuner != null ? command.getInteger("--batchsize") : 0;
+
+        // Le degré demandé est admis contre le budget de la cible puis celui du worker
+        // la cible n'est préparée qu'une fois admise, elle ne reste pas sans ses index pendant l'attente
+        try (Admission admission = Admission.admit(runContext, command, maxTransfers, maxTargetDegree, scaleDown);
+             AutoCloseable around = admitted != null ? admitted.call() : null) {
+            logger.info("{}Command to execute: {}", prefix, command.toLog(executable));
+
+            logger.info("{}Starting FastTransfer process...", prefix);
+
+            // Chaque ligne est transmise au logger au fil de l'eau, seule la fin de la sortie est conservée
+            // en mémoire, la sortie complète est compressée puis stockée dans le stockage interne
+            try (LogSpill spill = new LogSpill(runContext)) {
+                LogTail tail = new LogTail();
+                OutputParser parser = label == null ? new OutputParser(runContext) : new OutputParser(runContext, "transfer", label);
+                Consumer<String> forward = line -> logger.info("{}{}", prefix, line);
+
+                Instant start = Instant.now();
+                int exitCode = FastTransferProcess.run(command.toCommand(executable), List.of(
+                    forward,
+                    tail,
+                    spill,
+                    parser
+                ), running);
+                parser.finish(Duration.between(start, Instant.now()));
+                URI logsUri = spill.store();
+
+                logger.info("{}Process exited with code {}", prefix, exitCode);
+
+                OutputParser.Summary summary = parser.summary();
+                if (tuner != null && exitCode == 0 && summary.rowsPerSecond() != null) {
+                    Integer degree = Optional.ofNullable(summary.degree()).orElse(command.getInteger(FastTransferCommand.DEGREE));
+                    try {
+                        tuner.record(tunedBatchSize, degree, summary.totalRows(), summary.rowsPerSecond());
+                    } catch (Exception e) {
+                        logger.warn("{}Unable to record the batch size history", prefix, e);
+                    }
+                }
+
+                return new TransferResult(exitCode, tail.toString(), logsUri, summary);
+            }
+        }
+    }
+
+    /**
+     * With {@code adaptiveBatchSize}, fill the batch size of a command without one from the history of its source and
+     * target, see {@link BatchSizeTuner}.
+     *
+     * @return the tuner recording the throughput of the run, {@code null} when the command is left unchanged
+     */
+    BatchSizeTuner tuneBatchSize(RunContext runContext, FastTransferCommand command, String prefix) throws Exception {
+        if (command.get("--batchsize") != null || !runContext.render(adaptiveBatchSize).as(Boolean.class).orElse(false)) {
+            return null;
+        }
+
+        // Sans taille de lot imposée, la meilleure taille mesurée pour ce couple source/cible est réutilisée
+        try {
+            BatchSizeTuner tuner = BatchSizeTuner.of(runContext, command);
+            command.put("--batchsize", String.valueOf(tuner.choose()));
+            return tuner;
+        } catch (Exception e) {
+            runContext.logger().warn("{}Unable to read the batch size history, FastTransfer default is used", prefix, e);
+            return null;
+        }
+    }
+
+    /**
+     * Run one FastTransfer process per command, in the order of the list, with at most {@code concurrency} of them at
+     * the same time. The binary is staged once and each process is supervised by a virtual thread. A transfer that fails
+     * does not stop the others.
+     */
+    protected List<TableOutput> transferAll(RunContext runContext, List<FastTransferCommand> commands, int concurrency) throws Exception {
+        return transferAll(runContext, commands, null, concurrency, null, null);
+    }
+
+    /**
+     * @param names name of each transfer, the target table when {@code null}
+     * @param onStarted called with the index of each transfer once it is admitted, right before its process starts, or
+     *     {@code null}
+     * @param onCompleted called with the index and the result of each transfer as soon as it ends, or {@code null}
+     */
+    protected List<TableOutput> transferAll(
+        RunContext runContext,
+        List<FastTransferCommand> commands,
+        List<String> names,
+        int concurrency,
+        IntConsumer onStarted,
+        BiConsumer<Integer, TableOutput> onCompleted
+    ) throws Exception {
+        // Binaire extrait une seule fois pour tout le lot
+        try (BinaryCache.Lease executable = BinaryCache.acquire()) {
+            return transferAll(runContext, executable.path(), commands, names, concurrency, onStarted, onCompleted);
+        }
+    }
+
+    List<TableOutput> transferAll(
+        RunContext runContext,
+        Path executable,
+        List<FastTransferCommand> commands,
+        List<String> names,
+        int concurrency,
+        IntConsumer onStarted,
+        BiConsumer<Integer, TableOutput> onCompleted
+    ) throws Exception {
+        TableOutput[] outputs = new TableOutput[commands.size()];
+        AtomicInteger next = new AtomicInteger();
+
+        // Chaque process est supervisé par un thread virtuel
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(concurrency, commands.size()); i++) {
+                workers.add(executor.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < commands.size()) {
+                        String name = names != null ? names.get(index) : null;
+                        int started = index;
+                        Callable<AutoCloseable> admitted = onStarted == null ? null : () -> {
+                            onStarted.accept(started);
+                            return null;
+                        };
+                        outputs[index] = transferTable(runContext, executable, commands.get(index), name, admitted);
+                        if (onCompleted != null) {
+                            onCompleted.accept(index, outputs[index]);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        return Arrays.asList(outputs);
+    }
+
+    protected static void failIfAny(List<TableOutput> outputs) {
+        List<String> failed = outputs.stream()
+            .filter(TableOutput::isFailed)
+            .map(TableOutput::getName)
+            .toList();
+        if (!failed.isEmpty()) {
+            throw new RuntimeException("FastTransfer failed for " + failed.size() + " of " + outputs.size() + " tables: " + String.join(", ", failed));
+        }
+    }
+
+    private TableOutput transferTable(RunContext runContext, Path executable, FastTransferCommand command, String name, Callable<AutoCloseable> admitted) throws Exception {
+        if (name == null) {
+            name = Optional.ofNullable(command.get("--targetschema")).map(schema -> schema + ".").orElse("") +
+                command.get("--targettable");
+        }
+        if (running.isKilled()) {
+            throw new InterruptedException("FastTransfer was killed before " + name + " started");
+        }
+
+        try {
+            TransferResult result = transfer(runContext, executable, command, name, admitted);
+            if (result.exitCode() != 0) {
+                runContext.logger().error("[{}] {}", name, result.failure().getMessage());
+            }
+            return TableOutput.of(name, result);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            runContext.logger().error("[{}] FastTransfer could not be run", name, e);
+            return TableOutput.builder().name(name).error(e.getMessage()).totalRows(0L).build();
+        }
+    }
+
+    public void kill() {
+        running.kill();
+    }
+
+    protected record TransferResult(int exitCode, String logs, URI logsUri, OutputParser.Summary summary) {
+        RuntimeException failure() {
+            return new RuntimeException("FastTransfer executable failed with exit code " + exitCode +
+                (logsUri != null ? ", full output stored at " + logsUri : ""));
+        }
+    }
+}
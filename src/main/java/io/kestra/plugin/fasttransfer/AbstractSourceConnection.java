@@ -0,0 +1,95 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Source connection settings, shared by every task; the tasks that only read the source through JDBC extend it
+ * directly.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractSourceConnection extends Task {
+    @Schema(title = "Source connection type", description = "Source connection type (e.g., mssql, pgsql, mysql, etc.)")
+    private Property<String> sourceConnectionType;
+
+    @Schema(title = "Source connect string", description = "Connection string for source")
+    private Property<String> sourceConnectString;
+
+    @Schema(title = "Source DSN", description = "ODBC Data Source Name")
+    private Property<String> sourceDsn;
+
+    @Schema(title = "Source provider", description = "OLE DB provider (e.g., MSOLEDBSQL)")
+    private Property<String> sourceProvider;
+
+    @Schema(title = "Source server", description = "Source SQL server address")
+    private Property<String> sourceServer;
+
+    @Schema(title = "Source user", description = "Username for source connection")
+    private Property<String> sourceUser;
+
+    @Schema(title = "Source password", description = "Password for source connection")
+    private Property<String> sourcePassword;
+
+    @Schema(title = "Source trusted", description = "Use trusted authentication for source")
+    private Property<Boolean> sourceTrusted;
+
+    @Schema(title = "Source database", description = "Source database name")
+    private Property<String> sourceDatabase;
+
+    @Schema(title = "Source schema", description = "Source schema name")
+    private Property<String> sourceSchema;
+
+    @Schema(
+        title = "Source JDBC URL",
+        description = "JDBC URL used by the features that read the source metadata. Defaults to a URL built from `sourceConnectionType`, `sourceServer` and `sourceDatabase`. " +
+            "The JDBC driver of the engine is not shipped with the plugin and must be on the classpath of the Kestra instance."
+    )
+    private Property<String> sourceJdbcUrl;
+
+    /**
+     * The FastTransfer arguments of the settings, in command line order; each level adds its own.
+     */
+    protected Map<String, Property<?>> parameters() {
+        Map<String, Property<?>> params = new LinkedHashMap<>();
+        params.put("--sourceconnectiontype", sourceConnectionType);
+        params.put("--sourceconnectstring", sourceConnectString);
+        params.put("--sourcedsn", sourceDsn);
+        params.put("--sourceprovider", sourceProvider);
+        params.put("--sourceserver", sourceServer);
+        params.put("--sourceuser", sourceUser);
+        params.put("--sourcepassword", sourcePassword);
+        params.put("--sourcetrusted", sourceTrusted);
+        params.put("--sourcedatabase", sourceDatabase);
+        params.put("--sourceschema", sourceSchema);
+        return params;
+    }
+
+    /**
+     * Render the shared settings into a command; the task adds what identifies the data to move.
+     */
+    @SuppressWarnings("unchecked")
+    protected FastTransferCommand renderCommand(RunContext runContext) throws Exception {
+        FastTransferCommand command = new FastTransferCommand();
+        for (Map.Entry<String, Property<?>> entry : parameters().entrySet()) {
+            // Rendre la valeur en String, les paramètres non renseignés sont ignorés
+            command.put(entry.getKey(), runContext.render((Property<String>) entry.getValue()).as(String.class).orElse(null));
+        }
+
+        return command;
+    }
+
+    JdbcEndpoint sourceEndpoint(RunContext runContext, FastTransferCommand command) throws Exception {
+        return JdbcEndpoint.source(command, runContext.render(sourceJdbcUrl).as(String.class).orElse(null));
+    }
+}
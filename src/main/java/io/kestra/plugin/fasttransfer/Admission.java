@@ -0,0 +1,169 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission of a FastTransfer process, first against the budget of its target database server, then against the
+ * worker-wide {@link ParallelismGovernor}. The admitted degree is applied to the command and both permits are released
+ * when the admission is closed.
+ * <p>
+ * Target budgets are keyed by the rendered target identity (connection type, server and database) and shared by every
+ * task of the worker; the limits of the most recent request for a target apply.
+ */
+final class Admission implements AutoCloseable {
+    static final String TARGET_QUEUED = "target.queued";
+    static final String WORKER_QUEUED = "worker.queued";
+
+    private static final Map<String, AdmissionBudget> TARGETS = new ConcurrentHashMap<>();
+
+    private final AdmissionBudget.Permit target;
+    private final AdmissionBudget.Permit worker;
+
+    private Admission(AdmissionBudget.Permit target, AdmissionBudget.Permit worker) {
+        this.target = target;
+        this.worker = worker;
+    }
+
+    /**
+     * Block until the command is admitted, then set its {@code --degree} to the admitted degree.
+     *
+     * @param targetMaxTransfers concurrent transfers allowed on the target, {@code null} or {@code 0} for unbounded
+     * @param targetMaxDegree total degree allowed on the target, {@code null} or {@code 0} for unbounded
+     */
+    static Admission admit(
+        RunContext runContext,
+        FastTransferCommand command,
+        Integer targetMaxTransfers,
+        Integer targetMaxDegree,
+        boolean allowScaleDown
+    ) throws InterruptedException {
+        int requested = requestedDegree(command);
+
+        AdmissionBudget.Permit target = null;
+        int maxTransfers = Optional.ofNullable(targetMaxTransfers).orElse(0);
+        int maxDegree = Optional.ofNullable(targetMaxDegree).orElse(0);
+        if (maxTransfers > 0 || maxDegree > 0) {
+            String identity = targetIdentity(command);
+            AdmissionBudget budget = TARGETS.computeIfAbsent(identity, k -> new AdmissionBudget(maxTransfers, maxDegree));
+            budget.resize(maxTransfers, maxDegree);
+
+            Instant start = Instant.now();
+            target = budget.acquire(requested, allowScaleDown);
+            runContext.metric(Timer.of(TARGET_QUEUED, Duration.between(start, Instant.now()), "target", identity));
+            if (target.degree() > 0) {
+                requested = target.degree();
+            }
+        }
+
+        AdmissionBudget.Permit worker;
+        try {
+            Instant start = Instant.now();
+            worker = ParallelismGovernor.budget().acquire(requested, allowScaleDown);
+            runContext.metric(Timer.of(WORKER_QUEUED, Duration.between(start, Instant.now())));
+        } catch (InterruptedException | RuntimeException e) {
+            if (target != null) {
+                target.close();
+            }
+            throw e;
+        }
+
+        Admission admission = new Admission(target, worker);
+        int degree = admission.degree();
+        if (target != null) {
+            target.shrinkTo(degree);
+        }
+        if (parallel(command) && degree > 0 && !Objects.equals(degree, command.getInteger(FastTransferCommand.DEGREE))) {
+            runContext.logger().info("Degree of parallelism set to {} by the admission budgets", degree);
+            command.put(FastTransferCommand.DEGREE, String.valueOf(degree));
+        }
+
+        return admission;
+    }
+
+    /**
+     * The degree a command asks for: {@code 1} for a single stream, when no parallel method is set, else its
+     * {@code --degree}, {@code 0} standing for FastTransfer's automatic degree.
+     */
+    static int requestedDegree(FastTransferCommand command) {
+        return parallel(command) ? Optional.ofNullable(command.getInteger(FastTransferCommand.DEGREE)).orElse(0) : 1;
+    }
+
+    private static boolean parallel(FastTransferCommand command) {
+        String method = command.get(FastTransferCommand.METHOD);
+        return method != null && !"None".equalsIgnoreCase(method);
+    }
+
+    int degree() {
+        if (worker.degree() > 0) {
+            return worker.degree();
+        }
+        return target != null ? target.degree() : 0;
+    }
+
+    @Override
+    public void close() {
+        worker.close();
+        if (target != null) {
+            target.close();
+        }
+    }
+
+    static String targetIdentity(FastTransferCommand command) {
+        return identity(command, "target");
+    }
+
+    static String sourceIdentity(FastTransferCommand command) {
+        return identity(command, "source");
+    }
+
+    /**
+     * The source and target tables of a transfer, a hash standing for a source query.
+     */
+    static String transferIdentity(FastTransferCommand command) {
+        return sourceIdentity(command) + "/" + table(command, "source") + " > " + targetIdentity(command) + "/" + table(command, "target");
+    }
+
+    static String table(FastTransferCommand command, String side) {
+        String table = "source".equals(side) ? command.sourceTable() : command.get("--targettable");
+        if (table == null && "source".equals(side) && command.sourceQuery() != null) {
+            return "#" + sha256(command.sourceQuery()).substring(0, 12);
+        }
+        return (Optional.ofNullable(command.get("--" + side + "schema")).map(schema -> schema + ".").orElse("") +
+            Optional.ofNullable(table).orElse("")).toLowerCase(Locale.ROOT);
+    }
+
+    private static String identity(FastTransferCommand command, String side) {
+        String type = Optional.ofNullable(command.get("--" + side + "connectiontype")).orElse("");
+        String server = command.get("--" + side + "server");
+        String database = Optional.ofNullable(command.get("--" + side + "database")).orElse("");
+
+        if (server == null) {
+            // la chaîne de connexion peut contenir un mot de passe, seule son empreinte sert de clé
+            String connectString = Optional.ofNullable(command.get("--" + side + "connectstring")).orElse("");
+            server = "#" + sha256(connectString).substring(0, 12);
+        }
+
+        return (type + "://" + server + "/" + database).toLowerCase(Locale.ROOT);
+    }
+
+    static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A budget of concurrent FastTransfer processes and of their total degree of parallelism.
+ * <p>
+ * A request is admitted as soon as a process slot and at least one unit of degree are free. When it asks for more
+ * degree than what remains it is either scaled down to the remainder or kept waiting until its full degree fits,
+ * depending on {@code allowScaleDown}. A requested degree of {@code 0} (FastTransfer's automatic degree) resolves to
+ * whatever remains of the budget. A limit lower than or equal to {@code 0} means unbounded.
+ */
+final class AdmissionBudget {
+    private int maxProcesses;
+    private int maxDegree;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+
+    private int processes;
+    private int degree;
+
+    AdmissionBudget(int maxProcesses, int maxDegree) {
+        this.maxProcesses = maxProcesses;
+        this.maxDegree = maxDegree;
+    }
+
+    /**
+     * Block until the request is admitted.
+     *
+     * @param requested the requested degree, {@code 0} for automatic
+     * @return a permit holding the granted degree, {@code 0} only when the degree budget is unbounded and the request was automatic
+     */
+    Permit acquire(int requested, boolean allowScaleDown) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (grant(requested, allowScaleDown) < 0) {
+                released.await();
+            }
+
+            int granted = grant(requested, allowScaleDown);
+            processes++;
+            degree += granted;
+            return new Permit(granted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the degree that would be granted now, or {@code -1} if the request must wait
+     */
+    private int grant(int requested, boolean allowScaleDown) {
+        if (maxProcesses > 0 && processes >= maxProcesses) {
+            return -1;
+        }
+        if (maxDegree <= 0) {
+            return Math.max(requested, 0);
+        }
+
+        int remaining = maxDegree - degree;
+        if (remaining <= 0) {
+            return -1;
+        }
+        if (requested <= 0) {
+            return remaining;
+        }
+        if (requested <= remaining) {
+            return requested;
+        }
+
+        // a request larger than the whole budget can never fit, it is capped instead of waiting forever
+        if (allowScaleDown || requested > maxDegree && degree == 0) {
+            return Math.min(requested, remaining);
+        }
+        return -1;
+    }
+
+    /**
+     * Change the limits of the budget; requests already admitted are kept, waiting ones are re-evaluated.
+     */
+    void resize(int maxProcesses, int maxDegree) {
+        lock.lock();
+        try {
+            if (this.maxProcesses != maxProcesses || this.maxDegree != maxDegree) {
+                this.maxProcesses = maxProcesses;
+                this.maxDegree = maxDegree;
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the degree limit, lower than or equal to {@code 0} when unbounded
+     */
+    int maxDegree() {
+        lock.lock();
+        try {
+            return maxDegree;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(int processCount, int degreeCount) {
+        lock.lock();
+        try {
+            processes -= processCount;
+            degree -= degreeCount;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An admitted request, released when closed.
+     */
+    final class Permit implements AutoCloseable {
+        private int degree;
+        private boolean closed;
+
+        private Permit(int degree) {
+            this.degree = degree;
+        }
+
+        int degree() {
+            return degree;
+        }
+
+        /**
+         * Give back the part of the granted degree above {@code degree}, when a later admission granted less.
+         */
+        synchronized void shrinkTo(int degree) {
+            if (!closed && degree >= 0 && degree < this.degree) {
+                release(0, this.degree - degree);
+                this.degree = degree;
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(1, degree);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses the batch size of a transfer from the throughput of the previous runs between the same source and target,
+ * kept in the KV store of the flow namespace.
+ * <p>
+ * Each measured batch size keeps a moving average of its throughput per stream, so that runs scaled down by the
+ * admission budgets stay comparable. The best batch size is used, except for a share of the runs which measure one of
+ * its neighbours (half or double), so the choice follows the table as it grows without ever jumping far from what is
+ * known to work. Concurrent runs may overwrite each other's sample, which only loses a measure.
+ */
+final class BatchSizeTuner {
+    static final String KEY_PREFIX = "fasttransfer.batchsize.";
+    static final int DEFAULT_BATCH_SIZE = 65_536;
+    static final double EXPLORATION_RATE = 0.2;
+    static final double SMOOTHING = 0.3;
+    static final long MIN_ROWS = 100_000;
+
+    private final KVStore store;
+    private final String key;
+    private final String pair;
+
+    private BatchSizeTuner(KVStore store, String key, String pair) {
+        this.store = store;
+        this.key = key;
+        this.pair = pair;
+    }
+
+    static BatchSizeTuner of(RunContext runContext, FastTransferCommand command) {
+        String pair = Admission.transferIdentity(command);
+
+        return new BatchSizeTuner(
+            runContext.namespaceKv(runContext.flowInfo().namespace()),
+            KEY_PREFIX + Admission.sha256(pair).substring(0, 16),
+            pair
+        );
+    }
+
+    /**
+     * @return the batch size to use for the next run
+     */
+    int choose() throws Exception {
+        return choose(samples(), ThreadLocalRandom.current());
+    }
+
+    /**
+     * Record the throughput of a successful run; runs too small to be meaningful are ignored.
+     */
+    void record(int batchSize, Integer degree, long rows, long rowsPerSecond) throws Exception {
+        if (rows < MIN_ROWS || rowsPerSecond <= 0) {
+            return;
+        }
+
+        Map<Integer, Sample> samples = new TreeMap<>(samples());
+        samples.merge(batchSize, Sample.of(rowsPerSecond, degree), Sample::update);
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("pair", pair);
+        List<Map<String, Object>> serialized = new ArrayList<>();
+        samples.forEach((size, sample) -> serialized.add(sample.toMap(size)));
+        value.put("samples", serialized);
+
+        store.put(key, new KVValueAndMetadata(new KVMetadata((Duration) null), value));
+    }
+
+    static int choose(Map<Integer, Sample> samples, RandomGenerator random) {
+        if (samples.isEmpty()) {
+            return DEFAULT_BATCH_SIZE;
+        }
+
+        int best = samples.entrySet().stream()
+            .max(Comparator.comparingDouble(entry -> entry.getValue().throughput()))
+            .orElseThrow()
+            .getKey();
+
+        if (random.nextDouble() >= EXPLORATION_RATE) {
+            return best;
+        }
+
+        List<Integer> neighbours = new ArrayList<>();
+        if (best / 2 >= TransferPlanner.MIN_BATCH_SIZE) {
+            neighbours.add(best / 2);
+        }
+        if ((long) best * 2 <= TransferPlanner.MAX_BATCH_SIZE) {
+            neighbours.add(best * 2);
+        }
+        if (neighbours.isEmpty()) {
+            return best;
+        }
+
+        List<Integer> unmeasured = neighbours.stream().filter(size -> !samples.containsKey(size)).toList();
+        List<Integer> candidates = unmeasured.isEmpty() ? neighbours : unmeasured;
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Sample> samples() throws Exception {
+        Optional<KVValue> stored = store.getValue(key);
+        if (stored.isEmpty() || !(stored.get().value() instanceof Map<?, ?> value) || !(value.get("samples") instanceof List<?> list)) {
+            return Map.of();
+        }
+
+        Map<Integer, Sample> samples = new HashMap<>();
+        for (Object item : list) {
+            if (item instanceof Map<?, ?> map && map.get("batchSize") instanceof Number size) {
+                samples.put(size.intValue(), Sample.of((Map<String, Object>) map));
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * @param throughput moving average of the rows per second of each stream
+     */
+    record Sample(double throughput, int runs) {
+        static Sample of(long rowsPerSecond, Integer degree) {
+            return new Sample((double) rowsPerSecond / Math.max(1, Optional.ofNullable(degree).orElse(1)), 1);
+        }
+
+        static Sample of(Map<String, Object> map) {
+            return new Sample(
+                ((Number) map.getOrDefault("throughput", 0)).doubleValue(),
+                ((Number) map.getOrDefault("runs", 0)).intValue()
+            );
+        }
+
+        Sample update(Sample measure) {
+            return new Sample(throughput + SMOOTHING * (measure.throughput() - throughput), runs + measure.runs());
+        }
+
+        Map<String, Object> toMap(int batchSize) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("batchSize", batchSize);
+            map.put("throughput", throughput);
+            map.put("runs", runs);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package io.kestra.plugin.fasttransfer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Worker-scoped cache of the FastTransfer binary packaged with the plugin.
+ * <p>
+ * The binary is stored under {@code <java.io.tmpdir>/fasttransfer-cache/<sha256>/FastTransfer}. It is extracted once
+ * through a temporary file and an atomic rename, so concurrent runs, and workers sharing the same temporary directory,
+ * never see a partially written executable. Later runs only pay a path lookup.
+ * <p>
+ * The cache directories are private to the worker user, and a cached executable is only reused when its content
+ * matches its SHA-256, so that no other local user can substitute the binary run with the database credentials.
+ * <p>
+ * Runs hold a {@link Lease} on the executable while the process is alive. A background sweep removes staging files and
+ * binaries left behind by crashed or upgraded workers, and keeps the cache under {@link #MAX_CACHE_SIZE} by evicting the
+ * least recently used entries that nobody holds.
+ */
+@Slf4j
+final class BinaryCache {
+    static final String EXECUTABLE_RESOURCE = "/FastTransfer";
+    static final String EXECUTABLE_NAME = "FastTransfer";
+
+    static final Duration SWEEP_INTERVAL = Duration.ofHours(1);
+    static final Duration ORPHAN_TTL = Duration.ofHours(24);
+    static final Duration STAGING_TTL = Duration.ofHours(1);
+    static final long MAX_CACHE_SIZE = 2L * 1024 * 1024 * 1024;
+
+    private static final Path ROOT = Path.of(System.getProperty("java.io.tmpdir"), "fasttransfer-cache");
+    private static final Map<Path, AtomicInteger> LEASES = new ConcurrentHashMap<>();
+
+    private static volatile Path executable;
+    private static ScheduledExecutorService sweeper;
+
+    private BinaryCache() {
+    }
+
+    /**
+     * Lease the cached executable, extracting it on first use. The lease must be closed once the process has exited.
+     */
+    static Lease acquire() throws IOException {
+        Path path = resolve();
+        LEASES.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        touch(path.getParent());
+        return new Lease(path);
+    }
+
+    static Path resolve() throws IOException {
+        Path current = executable;
+        if (current != null && Files.isExecutable(current)) {
+            return current;
+        }
+
+        synchronized (BinaryCache.class) {
+            if (executable == null || !Files.isExecutable(executable)) {
+                executable = extract(ROOT, EXECUTABLE_RESOURCE);
+            }
+            if (sweeper == null) {
+                sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "fasttransfer-cache-sweeper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                sweeper.scheduleWithFixedDelay(
+                    () -> sweep(ROOT, Instant.now()),
+                    0,
+                    SWEEP_INTERVAL.toSeconds(),
+                    TimeUnit.SECONDS
+                );
+            }
+            return executable;
+        }
+    }
+
+    static Path extract(Path root, String resource) throws IOException {
+        String sha256;
+        try (InputStream is = open(resource)) {
+            sha256 = sha256(is);
+        }
+        Path directory = root.resolve(sha256);
+        Path target = directory.resolve(EXECUTABLE_NAME);
+
+        privateDirectory(root);
+        privateDirectory(directory);
+        if (Files.isExecutable(target)) {
+            try (InputStream is = Files.newInputStream(target)) {
+                if (sha256.equals(sha256(is))) {
+                    return target;
+                }
+            }
+            log.warn("FastTransfer binary cache entry '{}' does not match its checksum, extracting it again", target);
+        }
+
+        Path staging = Files.createTempFile(directory, EXECUTABLE_NAME + "-", ".tmp");
+        try {
+            try (InputStream is = open(resource)) {
+                Files.copy(is, staging, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (!staging.toFile().setExecutable(true)) {
+                throw new IOException("Unable to make " + staging + " executable");
+            }
+            try {
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+
+        return target;
+    }
+
+    /**
+     * Create a directory readable by the worker user only, or check that an existing one belongs to it and restrict it
+     * to it.
+     */
+    static void privateDirectory(Path directory) throws IOException {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory);
+            return;
+        }
+
+        Set<PosixFilePermission> owner = PosixFilePermissions.fromString("rwx------");
+        try {
+            Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(owner));
+        } catch (FileAlreadyExistsException e) {
+            // créé par un autre worker ou par un autre utilisateur, seul le premier cas est accepté
+        }
+
+        UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+        if (Files.isSymbolicLink(directory) || !Files.isDirectory(directory) || !Files.getOwner(directory).equals(user)) {
+            throw new IOException("FastTransfer binary cache directory '" + directory + "' is not a directory owned by " + user.getName());
+        }
+        if (!Files.getPosixFilePermissions(directory).equals(owner)) {
+            Files.setPosixFilePermissions(directory, owner);
+        }
+    }
+
+    /**
+     * Remove stale staging files and orphaned binaries, then evict unused entries until the cache fits
+     * {@link #MAX_CACHE_SIZE}. Entries leased in this JVM and the current executable are never removed; entries that
+     * another worker may use are protected by their last access time.
+     */
+    static void sweep(Path root, Instant now) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        Path current = executable != null ? executable.getParent() : null;
+
+        try (Stream<Path> entries = Files.list(root)) {
+            List<Path> directories = entries.filter(Files::isDirectory).toList();
+            List<Entry> candidates = new ArrayList<>();
+            long total = 0;
+
+            for (Path directory : directories) {
+                deleteStaleStaging(directory, now);
+
+                long size = size(directory);
+                total += size;
+
+                if (directory.equals(current) || isLeased(directory)) {
+                    continue;
+                }
+
+                Instant lastAccess = Files.getLastModifiedTime(directory).toInstant();
+                if (lastAccess.plus(ORPHAN_TTL).isBefore(now)) {
+                    delete(directory);
+                    total -= size;
+                } else {
+                    candidates.add(new Entry(directory, lastAccess, size));
+                }
+            }
+
+            candidates.sort(Comparator.comparing(Entry::lastAccess));
+            for (Entry candidate : candidates) {
+                if (total <= MAX_CACHE_SIZE) {
+                    break;
+                }
+                delete(candidate.directory());
+                total -= candidate.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to sweep FastTransfer binary cache '{}'", root, e);
+        }
+    }
+
+    private static void release(Path path) {
+        LEASES.computeIfPresent(path, (p, count) -> count.decrementAndGet() <= 0 ? null : count);
+        touch(path.getParent());
+    }
+
+    private static boolean isLeased(Path directory) {
+        return LEASES.keySet().stream().anyMatch(path -> directory.equals(path.getParent()));
+    }
+
+    private static void deleteStaleStaging(Path directory, Instant now) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".tmp")).toList()) {
+                if (Files.getLastModifiedTime(file).toInstant().plus(STAGING_TTL).isBefore(now)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            long size = 0;
+            for (Path file : files.toList()) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+        log.debug("Removed FastTransfer binary cache entry '{}'", directory);
+    }
+
+    private static void touch(Path directory) {
+        try {
+            Files.setLastModifiedTime(directory, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Unable to update access time of '{}'", directory, e);
+        }
+    }
+
+    private static String sha256(InputStream content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (InputStream is = new DigestInputStream(content, digest)) {
+            is.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static InputStream open(String resource) {
+        InputStream is = BinaryCache.class.getResourceAsStream(resource);
+        if (is == null) {
+            throw new IllegalStateException("Executable resource not found: " + resource);
+        }
+        return is;
+    }
+
+    private record Entry(Path directory, Instant lastAccess, long size) {
+    }
+
+    /**
+     * A reference on the cached executable, released when closed.
+     */
+    static final class Lease implements AutoCloseable {
+        private final Path path;
+        private boolean released;
+
+        private Lease(Path path) {
+            this.path = path;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release(path);
+            }
+        }
+    }
+}
@@ -6,13 +6,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
-import org.slf4j.Logger;
-
-import java.io.*;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import io.kestra.plugin.fasttransfer.dialect.KeyColumn;
+import io.kestra.plugin.fasttransfer.dialect.TableObject;
+import io.kestra.plugin.fasttransfer.dialect.TableStatistics;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static java.util.Map.entry;
 
@@ -55,40 +62,37 @@ import static java.util.Map.entry;
                 "useWorkTables: true",
                 "license: YOUR_LICENSE_KEY"
             }
+        ),
+        @io.kestra.core.models.annotations.Example(
+            title = "Merge the orders changed since the last run into a large target table",
+            code = {
+                "sourceConnectionType: pgsql",
+                "sourceServer: localhost:5432",
+                "sourceUser: FastTransfer_Login",
+                "sourcePassword: FastPassword",
+                "sourceDatabase: tpch",
+                "sourceSchema: public",
+                "sourceTable: orders",
+                "targetConnectionType: msbulk",
+                "targetServer: localhost,31433",
+                "targetUser: FastTransfer_Login",
+                "targetPassword: FastPassword",
+                "targetDatabase: tpch",
+                "targetSchema: dbo",
+                "targetTable: orders",
+                "loadMode: Merge",
+                "mergeKeyColumns:",
+                "  - o_orderkey",
+                "watermarkColumn: o_updated_at",
+                "license: YOUR_LICENSE_KEY"
+            }
         )
     }
 )
 
-public class FastTransfer extends Task implements RunnableTask<FastTransfer.Output> {
-    @Schema(title = "Source connection type", description = "Source connection type (e.g., mssql, pgsql, mysql, etc.)")
-    private Property<String> sourceConnectionType;
-
-    @Schema(title = "Source connect string", description = "Connection string for source")
-    private Property<String> sourceConnectString;
-
-    @Schema(title = "Source DSN", description = "ODBC Data Source Name")
-    private Property<String> sourceDsn;
-
-    @Schema(title = "Source provider", description = "OLE DB provider (e.g., MSOLEDBSQL)")
-    private Property<String> sourceProvider;
-
-    @Schema(title = "Source server", description = "Source SQL server address")
-    private Property<String> sourceServer;
-
-    @Schema(title = "Source user", description = "Username for source connection")
-    private Property<String> sourceUser;
-
-    @Schema(title = "Source password", description = "Password for source connection")
-    private Property<String> sourcePassword;
-
-    @Schema(title = "Source trusted", description = "Use trusted authentication for source")
-    private Property<Boolean> sourceTrusted;
-
-    @Schema(title = "Source database", description = "Source database name")
-    private Property<String> sourceDatabase;
-
-    @Schema(title = "Source schema", description = "Source schema name")
-    private Property<String> sourceSchema;
+public class FastTransfer extends AbstractFastTransfer implements RunnableTask<FastTransfer.Output> {
+    static final String FINGERPRINT_KEY_PREFIX = "fasttransfer.fingerprint.";
+    static final int VERIFY_CONCURRENCY = 4;
 
     @Schema(title = "Source table", description = "Source table name")
     private Property<String> sourceTable;
@@ -99,207 +103,535 @@ public class FastTransfer extends Task implements RunnableTask<FastTransfer.Outp
     @Schema(title = "File input", description = "File containing SQL query")
     private Property<String> fileInput;
 
-    @Schema(title = "Target connection type", description = "Target connection type (e.g., pgcopy, mysqlbulk)")
-    private Property<String> targetConnectionType;
+    @Schema(title = "Target table", description = "Target table name")
+    private Property<String> targetTable;
 
-    @Schema(title = "Target connect string", description = "Connection string for target")
-    private Property<String> targetConnectString;
+    @Schema(
+        title = "Planning mode",
+        description = "With `AUTO`, the row count, average row width and key columns of `sourceTable` are read from the source through JDBC before the transfer, " +
+            "and `degree`, `method`, `distributeKeyColumn` and `batchSize` are chosen from them when they are not set. " +
+            "Small tables are then transferred by a single stream, large ones with one stream per GB up to the worker parallelism budget."
+    )
+    @Builder.Default
+    private Property<PlanningMode> planning = Property.of(PlanningMode.MANUAL);
+
+    @Schema(
+        title = "Watermark column",
+        description = "Enables the incremental mode: only the rows of the source whose watermark column is greater than the last transferred value are appended to the target. " +
+            "The last value is kept in the KV store of the namespace and only moves forward when the transfer succeeds. " +
+            "The column should only grow, as a row committed late with a value lower than the mark is never transferred."
+    )
+    private Property<String> watermarkColumn;
+
+    @Schema(
+        title = "Initial watermark",
+        description = "SQL literal of the lower bound, excluded, of the first incremental run, e.g. `'2024-01-01'`. The first run transfers all the rows when not set."
+    )
+    private Property<String> initialWatermark;
+
+    @Schema(
+        title = "Watermark KV key",
+        description = "Key of the watermark in the KV store of the namespace. Defaults to a key derived from the source and target tables and the watermark column."
+    )
+    private Property<String> watermarkKey;
+
+    @Schema(
+        title = "Merge key columns",
+        description = "With `loadMode: Merge`, the columns matching the rows of the source with the rows of the target. " +
+            "Defaults to the primary key, or else the first unique index, of `targetTable`."
+    )
+    private Property<List<String>> mergeKeyColumns;
+
+    @Schema(
+        title = "Suspended objects",
+        description = "Kinds of objects of `targetTable` suspended for an Append or Truncate load, once the transfer is admitted, and restored after it, whether it succeeded or failed: " +
+            "`INDEX` for the non-unique secondary indexes, `FOREIGN_KEY` and `TRIGGER`. The statistics of the table are then refreshed. " +
+            "The statements restoring the objects are kept in the KV store of the namespace, so that the next run restores them when the worker stops during a load. " +
+            "The kinds the target engine cannot suspend are left in place."
+    )
+    private Property<List<TableObject.Kind>> suspendObjects;
+
+    @Schema(
+        title = "Index concurrency",
+        description = "Number of indexes built at the same time after the load: the indexes restored with `suspendObjects`, " +
+            "or with `loadMode: Swap` the indexes of the shadow table on the engines that do not copy them when creating it."
+    )
+    @Builder.Default
+    private Property<Integer> indexConcurrency = Property.of(4);
+
+    @Schema(
+        title = "Clustered order",
+        description = "Read the source in the order of the clustering key of `targetTable`, its clustered index or else its primary key, through a generated query, " +
+            "so that each stream inserts its rows in key order instead of splitting the pages of the target. " +
+            "Without `distributeKeyColumn`, the streams of a parallel method are distributed on the leading column of the key, each one covering its own key range."
+    )
+    @Builder.Default
+    private Property<Boolean> clusteredOrder = Property.of(false);
+
+    @Schema(
+        title = "Project columns",
+        description = "Compare the columns of the source and of `targetTable` through JDBC before the transfer, and read only the source columns loaded into the target through a generated query: " +
+            "with `mapMethod: Name` the columns named as a target column, otherwise the first columns of the source, one per target column."
+    )
+    @Builder.Default
+    private Property<Boolean> projectColumns = Property.of(false);
+
+    @Schema(
+        title = "Skip if unchanged",
+        description = "Compute a fingerprint of the source through JDBC before starting FastTransfer, and skip the transfer when it equals the fingerprint recorded after the last successful transfer to the same target. " +
+            "The fingerprint is the row count and the greatest value of `fingerprintColumn`, or the first row of `fingerprintQuery`, and is kept in the KV store of the namespace."
+    )
+    @Builder.Default
+    private Property<Boolean> skipIfUnchanged = Property.of(false);
+
+    @Schema(title = "Fingerprint column", description = "Column whose greatest value is part of the fingerprint, typically a modification timestamp")
+    private Property<String> fingerprintColumn;
+
+    @Schema(title = "Fingerprint query", description = "Query whose first row is the fingerprint, instead of the row count and `fingerprintColumn` of the source")
+    private Property<String> fingerprintQuery;
+
+    @Schema(
+        title = "Verify",
+        description = "After a successful transfer, compare the source and the target range by range of `verifyKeyColumn`, as the `VerifyTransfer` task does, and fail when a range differs. " +
+            "Only available with `loadMode: Truncate` or `Swap`, and not in incremental mode: after an Append or a Merge the target may hold more than the transferred rows."
+    )
+    @Builder.Default
+    private Property<Boolean> verify = Property.of(false);
+
+    @Schema(title = "Verification key column", description = "Numeric column the verification ranges are taken on. Defaults to the first numeric column of the primary key of `sourceTable`.")
+    private Property<String> verifyKeyColumn;
+
+    @Schema(title = "Number of verification ranges")
+    @Builder.Default
+    private Property<Integer> verifyRanges = Property.of(16);
 
-    @Schema(title = "Target server", description = "Target SQL server address")
-    private Property<String> targetServer;
+    @Override
+    public FastTransfer.Output run(RunContext runContext) throws Exception {
+        FastTransferCommand command = renderCommand(runContext)
+            .put("--sourcetable", runContext.render(sourceTable).as(String.class).orElse(null))
+            .put("--query", runContext.render(query).as(String.class).orElse(null))
+            .put("--fileinput", runContext.render(fileInput).as(String.class).orElse(null))
+            .put("--targettable", runContext.render(targetTable).as(String.class).orElse(null));
+
+        // Source inchangée depuis le dernier transfert réussi : ni extraction du binaire, ni process
+        Unchanged unchanged = null;
+        if (runContext.render(skipIfUnchanged).as(Boolean.class).orElse(false)) {
+            unchanged = unchanged(runContext, command);
+            if (unchanged.fingerprint().equals(unchanged.previous())) {
+                runContext.logger().info("Source fingerprint {} unchanged since the last transfer, skipped", unchanged.fingerprint());
+                return Output.builder()
+                    .exitCode(0)
+                    .totalRows(0L)
+                    .skipped(true)
+                    .build();
+            }
+        }
 
-    @Schema(title = "Target user", description = "Username for target connection")
-    private Property<String> targetUser;
+        String column = runContext.render(watermarkColumn).as(String.class).orElse(null);
+        boolean ordered = runContext.render(clusteredOrder).as(Boolean.class).orElse(false);
+        boolean projected = runContext.render(projectColumns).as(Boolean.class).orElse(false);
 
-    @Schema(title = "Target password", description = "Password for target connection")
-    private Property<String> targetPassword;
+        if (runContext.render(planning).as(PlanningMode.class).orElse(PlanningMode.MANUAL) == PlanningMode.AUTO) {
+            // les requêtes générées par le mode incrémental, le tri ou la projection empêchent le découpage sur l'emplacement physique des lignes
+            plan(runContext, command, column == null && !ordered && !projected);
+        }
 
-    @Schema(title = "Target trusted", description = "Use trusted authentication for target")
-    private Property<Boolean> targetTrusted;
+        Increment increment = null;
+        if (column != null) {
+            increment = increment(runContext, command, column);
+            if (increment.upper() == null) {
+                runContext.logger().info("No row after the watermark {}, nothing to transfer", increment.lower());
+                return Output.builder()
+                    .exitCode(0)
+                    .totalRows(0L)
+                    .watermark(increment.lower())
+                    .skipped(true)
+                    .build();
+            }
+        }
 
-    @Schema(title = "Target database", description = "Target database name")
-    private Property<String> targetDatabase;
+        if (projected) {
+            project(runContext, command);
+        }
+        String orderedQuery = ordered ? order(runContext, command) : null;
+
+        // Binaire Linux uniquement, extrait une seule fois par worker et conservé tant que le process tourne
+        try (BinaryCache.Lease executable = BinaryCache.acquire(); MergeLoad merge = merge(runContext, command); SwapLoad swap = swap(runContext, command)) {
+            FastTransferCommand loaded = merge != null ? merge.command() : swap != null ? swap.command() : command;
+            if (orderedQuery != null) {
+                // seul le binaire lit la requête triée, SQL Server refuse un ORDER BY dans les tables dérivées de la vérification
+                loaded = loaded.copy().replaceSource(orderedQuery);
+            }
+            TransferResult result = transfer(runContext, executable.path(), loaded, null, () -> suspend(runContext, command));
+            if (result.exitCode() != 0) {
+                throw result.failure();
+            }
 
-    @Schema(title = "Target schema", description = "Target schema name")
-    private Property<String> targetSchema;
+            Long mergedRows = null;
+            if (merge != null) {
+                mergedRows = merge.merge();
+                runContext.logger().info("{} rows merged from {} into {} on {}", mergedRows, merge.stage(), command.get("--targettable"), merge.keys());
+            }
+            if (swap != null) {
+                int indexes = swap.buildIndexes(runContext.render(indexConcurrency).as(Integer.class).orElse(4));
+                runContext.logger().info("{} indexes built on {}", indexes, swap.shadow());
+                swap.swap();
+                runContext.logger().info("{} swapped into {}", swap.shadow(), command.get("--targettable"));
+            }
 
-    @Schema(title = "Target table", description = "Target table name")
-    private Property<String> targetTable;
+            if (increment != null) {
+                increment.watermark().advance(increment.upper());
+                runContext.logger().info("Watermark {} moved to {}", increment.watermark().key(), increment.upper());
+            }
+            VerificationOutput verification = null;
+            if (runContext.render(verify).as(Boolean.class).orElse(false)) {
+                String mode = command.get("--loadmode");
+                if (increment != null) {
+                    runContext.logger().warn("Verification skipped in incremental mode");
+                } else if (mode == null || mode.equalsIgnoreCase("Append") || MergeLoad.MODE.equalsIgnoreCase(mode)) {
+                    runContext.logger().warn("Verification skipped with load mode {}, the target may hold more than the transferred rows", mode != null ? mode : "Append");
+                } else {
+                    verification = verify(
+                        runContext,
+                        command,
+                        runContext.render(verifyKeyColumn).as(String.class).orElse(null),
+                        Math.max(1, runContext.render(verifyRanges).as(Integer.class).orElse(16)),
+                        VERIFY_CONCURRENCY
+                    );
+                    if (!verification.getMismatches().isEmpty()) {
+                        throw new RuntimeException(verification.getMismatches().size() + " of " + verification.getRanges() +
+                            " ranges of the target differ from the source after the transfer");
+                    }
+                }
+            }
 
-    @Schema(title = "Degree of parallelism", description = "Degree of parallelism (0 = Auto)")
-    private Property<Integer> degree;
+            if (unchanged != null) {
+                unchanged.record();
+            }
 
-    @Schema(title = "Parallel method", description = "Parallel split method (e.g., Random, DataDriven, None)")
-    private Property<String> method;
+            OutputParser.Summary summary = result.summary();
+            return Output.builder()
+                .logs(result.logs())
+                .logsUri(result.logsUri())
+                .exitCode(result.exitCode())
+                .totalRows(summary.totalRows())
+                .elapsedMs(summary.elapsedMs())
+                .rowsPerSecond(summary.rowsPerSecond())
+                .degree(summary.degree())
+                .method(summary.method())
+                .partitionRows(summary.partitionRows())
+                .watermark(increment != null ? increment.upper() : null)
+                .skipped(false)
+                .verification(verification)
+                .mergedRows(mergedRows)
+                .build();
+        }
+    }
 
-    @Schema(title = "Distribute key column", description = "Column used to distribute data")
-    private Property<String> distributeKeyColumn;
+    /**
+     * Compute the fingerprint of the source, before any generated query replaces it, and read the one recorded after
+     * the last successful transfer.
+     */
+    private Unchanged unchanged(RunContext runContext, FastTransferCommand command) throws Exception {
+        String query = runContext.render(fingerprintQuery).as(String.class).orElse(null);
+
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        String fingerprint;
+        try (Connection connection = source.connect()) {
+            fingerprint = Fingerprint.compute(
+                connection,
+                query != null ? null : SourceQuery.of(source.dialect(), command),
+                runContext.render(fingerprintColumn).as(String.class).orElse(null),
+                query
+            );
+        }
 
-    @Schema(title = "Data driven query", description = "SQL query to retrieve data-driven values")
-    private Property<String> dataDrivenQuery;
+        KVStore store = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String key = FINGERPRINT_KEY_PREFIX + Admission.sha256(Admission.transferIdentity(command)).substring(0, 16);
+        Optional<KVValue> stored = store.getValue(key);
+        String previous = stored.isPresent() && stored.get().value() instanceof Map<?, ?> value && value.get("fingerprint") instanceof String last ? last : null;
 
-    @Schema(title = "Load mode", description = "Load mode (Append or Truncate)")
-    private Property<String> loadMode;
+        return new Unchanged(store, key, fingerprint, previous);
+    }
 
-    @Schema(title = "Batch size", description = "Batch size for bulk copy")
-    private Property<Integer> batchSize;
+    /**
+     * Restrict the command to the rows after the stored watermark, up to the current greatest value of the column.
+     */
+    private Increment increment(RunContext runContext, FastTransferCommand command, String column) throws Exception {
+        Watermark watermark = Watermark.of(runContext, command, column, runContext.render(watermarkKey).as(String.class).orElse(null));
+        String lower = watermark.last().orElse(runContext.render(initialWatermark).as(String.class).orElse(null));
+
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        String upper;
+        try (Connection connection = source.connect()) {
+            upper = watermark.high(connection, watermark.after(SourceQuery.of(source.dialect(), command), lower)).orElse(null);
+        }
 
-    @Schema(title = "Use work tables", description = "Use intermediate work tables")
-    private Property<Boolean> useWorkTables;
+        if (upper != null) {
+            watermark.upTo(watermark.after(SourceQuery.of(source.dialect(), command), lower), upper).applyTo(command);
 
-    @Schema(title = "Run ID", description = "Run identifier for logging")
-    private Property<String> runId;
+            // une fusion reste une fusion, les autres modes remplaceraient la cible par le seul incrément
+            String mode = command.get("--loadmode");
+            if (mode == null || !mode.equalsIgnoreCase(MergeLoad.MODE)) {
+                if (mode != null && !mode.equalsIgnoreCase("Append")) {
+                    runContext.logger().warn("Load mode {} replaced by Append in incremental mode", mode);
+                }
+                command.put("--loadmode", "Append");
+            }
+            runContext.logger().info("Transferring the rows where {} is after {} up to {}", column, lower, upper);
+        }
 
-    @Schema(title = "Settings file", description = "Path to settings file")
-    private Property<String> settingsFile;
+        return new Increment(watermark, lower, upper);
+    }
 
-    @Schema(title = "Column map method", description = "Mapping method for columns (Position or Name)")
-    private Property<String> mapMethod;
+    /**
+     * Create the stage table of a merge, {@code null} in the other load modes.
+     */
+    private MergeLoad merge(RunContext runContext, FastTransferCommand command) throws Exception {
+        if (!MergeLoad.MODE.equalsIgnoreCase(command.get("--loadmode"))) {
+            return null;
+        }
 
-    @Schema(title = "License file path or URL", description = "Path or URL of the license file. If not provided, FastTransfer will look for a local FastTransfer.lic file next to the binary.")
-    private Property<String> license;
+        MergeLoad merge = MergeLoad.prepare(targetEndpoint(runContext, command), command, runContext.render(mergeKeyColumns).asList(String.class));
+        runContext.logger().info("Loading the stage table {} to merge into {}", merge.stage(), command.get("--targettable"));
+        return merge;
+    }
 
+    /**
+     * Rewrite the source into a query reading only the columns loaded into the target table.
+     */
+    private void project(RunContext runContext, FastTransferCommand command) throws Exception {
+        String table = command.get("--targettable");
+        JdbcEndpoint target = targetEndpoint(runContext, command);
+        List<String> targetColumns;
+        try (Connection connection = target.connect()) {
+            targetColumns = RangeComparison.columns(connection, SourceQuery.table(target.dialect(), command.get("--targetschema"), table));
+        }
 
-    @Override
-    public FastTransfer.Output run(RunContext runContext) throws Exception {
-        Logger logger = runContext.logger();
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        List<String> sourceColumns;
+        try (Connection connection = source.connect()) {
+            sourceColumns = RangeComparison.columns(connection, SourceQuery.of(source.dialect(), command));
+        }
 
-        // Ressource binaire Linux uniquement
-        String executableResource = "/FastTransfer";
+        List<String> projection = SourceQuery.projection(sourceColumns, targetColumns, command.get("--mapmethod"));
+        if (projection.isEmpty()) {
+            runContext.logger().warn("No source column maps to a column of {}, all the source columns are read", table);
+            return;
+        }
+        if (projection.size() == sourceColumns.size()) {
+            runContext.logger().debug("All the {} source columns map to a column of {}", sourceColumns.size(), table);
+            return;
+        }
 
-        // Extraire le binaire dans un fichier temporaire
-        File tempExe = File.createTempFile("fasttransfer-", null);
-        tempExe.deleteOnExit();
+        SourceQuery.of(source.dialect(), command).select(projection).applyTo(command);
+        runContext.logger().info("{} of the {} source columns read, the others are not loaded into {}", projection.size(), sourceColumns.size(), table);
+    }
 
-        try (InputStream is = getClass().getResourceAsStream(executableResource);
-             OutputStream os = new FileOutputStream(tempExe)) {
-            if (is == null) {
-                throw new IllegalStateException("Executable resource not found: " + executableResource);
-            }
-            byte[] buffer = new byte[8192];
-            int read;
-            while ((read = is.read(buffer)) != -1) {
-                os.write(buffer, 0, read);
-            }
+    /**
+     * Distribute the streams on the leading column of the clustering key of the target table.
+     *
+     * @return the source query ordered by the clustering key, to be read by FastTransfer only, or {@code null} when the
+     *     source cannot be read in that order
+     */
+    private String order(RunContext runContext, FastTransferCommand command) throws Exception {
+        String table = command.get("--targettable");
+        JdbcEndpoint target = targetEndpoint(runContext, command);
+        List<String> key;
+        try (Connection connection = target.connect()) {
+            key = target.dialect().clusteringKey(connection, command.get("--targetschema"), table);
+        }
+        if (key.isEmpty()) {
+            runContext.logger().warn("{} has neither a clustered index nor a primary key, the source is read in its own order", table);
+            return null;
         }
 
-        boolean executableSet = tempExe.setExecutable(true);
-
-        List<String> command = new ArrayList<>();
-        List<String> commandLog = new ArrayList<>();
-        command.add(tempExe.getAbsolutePath());
-        commandLog.add(tempExe.getAbsolutePath());
-
-        Map<String, Property<?>> params = new LinkedHashMap<>();
-        params.put("--sourceconnectiontype", sourceConnectionType);
-        params.put("--sourceconnectstring", sourceConnectString);
-        params.put("--sourcedsn", sourceDsn);
-        params.put("--sourceprovider", sourceProvider);
-        params.put("--sourceserver", sourceServer);
-        params.put("--sourceuser", sourceUser);
-        params.put("--sourcepassword", sourcePassword);
-        params.put("--sourcetrusted", sourceTrusted);
-        params.put("--sourcedatabase", sourceDatabase);
-        params.put("--sourceschema", sourceSchema);
-        params.put("--sourcetable", sourceTable);
-        params.put("--query", query);
-        params.put("--fileinput", fileInput);
-        params.put("--targetconnectiontype", targetConnectionType);
-        params.put("--targetconnectstring", targetConnectString);
-        params.put("--targetserver", targetServer);
-        params.put("--targetuser", targetUser);
-        params.put("--targetpassword", targetPassword);
-        params.put("--targettrusted", targetTrusted);
-        params.put("--targetdatabase", targetDatabase);
-        params.put("--targetschema", targetSchema);
-        params.put("--targettable", targetTable);
-        params.put("--degree", degree);
-        params.put("--method", method);
-        params.put("--distributekeycolumn", distributeKeyColumn);
-        params.put("--datadrivenquery", dataDrivenQuery);
-        params.put("--loadmode", loadMode);
-        params.put("--batchsize", batchSize);
-        params.put("--useworktables", useWorkTables);
-        params.put("--runid", runId);
-        params.put("--settingsfile", settingsFile);
-        params.put("--mapmethod", mapMethod);
-        params.put("--license", license);
-
-        Set<String> booleanParams = Set.of("--sourcetrusted","--targettrusted","--useworktables");
-        Set<String> sensitiveKeys = Set.of("--sourcepassword", "--targetpassword", "--license");
-
-        for (Map.Entry<String, Property<?>> entry : params.entrySet()) {
-            String key = entry.getKey();
-            Property<?> prop = entry.getValue();
-
-            // Rendre la valeur en String
-            String value = runContext.render((Property<String>) prop).as(String.class).orElse(null);
-
-            if (value == null || value.isEmpty()) {
-                continue; // Ignore paramètres non renseignés
-            }
-
-            // Si c'est un paramètre booléen et la valeur est "true", on ajoute juste la clé (flag)
-            if (booleanParams.contains(key)) {
-                if (Boolean.parseBoolean(value)) {
-                    command.add(key);
-                    commandLog.add(key);
-                }
-                // Si false, on n'ajoute rien (pas de flag)
-            } else {
-                // Pour les autres paramètres, on ajoute clé + valeur
-                command.add(key);
-                command.add(value);
-                commandLog.add(key);
-                commandLog.add(sensitiveKeys.contains(key) ? "*******" : value);
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        List<String> columns;
+        try (Connection connection = source.connect()) {
+            columns = RangeComparison.columns(connection, SourceQuery.of(source.dialect(), command));
+        }
+        // les colonnes de la source sont associées par nom à celles de la clé
+        List<String> sourceKey = new ArrayList<>();
+        for (String name : key) {
+            Optional<String> match = columns.stream().filter(name::equalsIgnoreCase).findFirst();
+            if (match.isEmpty()) {
+                runContext.logger().warn("Clustering key column {} of {} not read from the source, the source is read in its own order", name, table);
+                return null;
             }
+            sourceKey.add(match.get());
         }
 
-        logger.info("Command to execute: {}", String.join(" ", commandLog));
+        SourceQuery query = SourceQuery.of(source.dialect(), command);
+        sourceKey.forEach(query::orderBy);
 
+        String method = command.get("--method");
+        String distributeKey = command.get("--distributekeycolumn");
+        if (distributeKey == null && method != null && !method.equalsIgnoreCase("None")) {
+            command.put("--distributekeycolumn", sourceKey.getFirst());
+        } else if (distributeKey != null && !distributeKey.equalsIgnoreCase(sourceKey.getFirst())) {
+            runContext.logger().warn("`distributeKeyColumn` {} is not the leading clustering key column {}, the key ranges of the streams overlap", distributeKey, sourceKey.getFirst());
+        }
+        runContext.logger().info("Source read in the order of the clustering key {} of {}", sourceKey, table);
+        return query.toSql();
+    }
 
-        ProcessBuilder pb = new ProcessBuilder(command);
-        pb.redirectErrorStream(true);
+    /**
+     * Create the shadow table of a swap, {@code null} in the other load modes.
+     */
+    private SwapLoad swap(RunContext runContext, FastTransferCommand command) throws Exception {
+        if (!SwapLoad.MODE.equalsIgnoreCase(command.get("--loadmode"))) {
+            return null;
+        }
 
-        logger.info("Starting FastTransfer process...");
-        Process process = pb.start();
+        SwapLoad swap = SwapLoad.prepare(targetEndpoint(runContext, command), command);
+        runContext.logger().info("Loading the shadow table {} to swap into {}", swap.shadow(), command.get("--targettable"));
+        return swap;
+    }
 
-        String output;
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            output = reader.lines().collect(Collectors.joining("\n"));
+    /**
+     * Suspend the objects of the target table slowing the load down.
+     *
+     * @return restores the objects when closed, {@code null} when none is requested
+     */
+    private AutoCloseable suspend(RunContext runContext, FastTransferCommand command) throws Exception {
+        List<TableObject.Kind> kinds = runContext.render(suspendObjects).asList(TableObject.Kind.class);
+        if (kinds.isEmpty()) {
+            return null;
         }
 
-        int exitCode = process.waitFor();
+        String mode = command.get("--loadmode");
+        if (MergeLoad.MODE.equalsIgnoreCase(mode) || SwapLoad.MODE.equalsIgnoreCase(mode)) {
+            runContext.logger().warn("`suspendObjects` ignored with load mode {}, FastTransfer does not load the target itself", mode);
+            return null;
+        }
 
-        logger.info("FastTransfer output:\n{}", output);
-        logger.info("Process exited with code {}", exitCode);
+        SuspendedObjects suspended = SuspendedObjects.suspend(runContext, targetEndpoint(runContext, command), command, EnumSet.copyOf(kinds));
+        runContext.logger().info(
+            "Suspended on {} for the load: {}",
+            command.get("--targettable"), suspended.objects().stream().map(object -> object.kind() + " " + object.name()).toList()
+        );
+        int concurrency = runContext.render(indexConcurrency).as(Integer.class).orElse(4);
+        return () -> {
+            suspended.restore(concurrency);
+            runContext.logger().info("{} objects of {} restored and statistics refreshed", suspended.objects().size(), command.get("--targettable"));
+        };
+    }
+
+    private void plan(RunContext runContext, FastTransferCommand command, boolean keyless) throws Exception {
+        String schema = command.get("--sourceschema");
+        String table = command.get("--sourcetable");
+        if (table == null) {
+            throw new IllegalArgumentException("`planning: AUTO` requires `sourceTable`");
+        }
 
-        if (exitCode != 0) {
-            throw new RuntimeException("FastTransfer executable failed with exit code " + exitCode + "\nOutput:\n" + output);
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        TransferPlanner.Plan plan;
+        try (Connection connection = source.connect()) {
+            TableStatistics statistics = source.dialect().table(connection, schema, table)
+                .orElseThrow(() -> new IllegalArgumentException("Source table " + schema + "." + table + " not found"));
+            List<KeyColumn> keys = source.dialect().keyColumns(connection, schema, table);
+
+            int maxDegree = ParallelismGovernor.budget().maxDegree();
+            plan = TransferPlanner.plan(
+                statistics, keys, keyless ? source.dialect().keylessMethod() : null,
+                maxDegree > 0 ? maxDegree : Runtime.getRuntime().availableProcessors()
+            );
+            runContext.logger().info(
+                "Planned {} rows ({} bytes): degree {}, method {}, key {}, batch size {}",
+                statistics.rows(), statistics.bytes(), plan.degree(), plan.method(), plan.distributeKeyColumn(), plan.batchSize()
+            );
         }
 
-        return Output.builder()
-            .logs(output)
-            .exitCode(exitCode)
-            .build();
+        // la taille de lot est laissée au réglage adaptatif lorsqu'il est actif
+        TransferPlanner.apply(plan, command, !runContext.render(getAdaptiveBatchSize()).as(Boolean.class).orElse(false));
     }
 
+    private record Unchanged(KVStore store, String key, String fingerprint, String previous) {
+        void record() throws Exception {
+            store.put(key, new KVValueAndMetadata(new KVMetadata((Duration) null), Map.of("fingerprint", fingerprint)));
+        }
+    }
 
+    /**
+     * @param upper literal of the greatest value transferred by this run, {@code null} when there is no new row
+     */
+    private record Increment(Watermark watermark, String lower, String upper) {
+    }
 
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
             title = "Console output",
-            description = "Raw output printed by the FastTransfer binary (stdout and stderr merged)"
+            description = "Last lines printed by the FastTransfer binary (stdout and stderr merged), bounded to 200 lines and 64 KB."
         )
         private final String logs;
 
+        @Schema(
+            title = "Full console output",
+            description = "URI of the gzip-compressed full output of the FastTransfer binary in Kestra internal storage."
+        )
+        private final URI logsUri;
+
         @Schema(
             title = "Exit code",
             description = "Exit code of the FastTransfer process"
         )
         private final Integer exitCode;
+
+        @Schema(
+            title = "Total rows",
+            description = "Number of rows transferred, as reported by FastTransfer"
+        )
+        private final Long totalRows;
+
+        @Schema(
+            title = "Elapsed time in milliseconds",
+            description = "Transfer duration reported by FastTransfer, or measured around the process when not reported"
+        )
+        private final Long elapsedMs;
+
+        @Schema(
+            title = "Throughput in rows per second"
+        )
+        private final Long rowsPerSecond;
+
+        @Schema(
+            title = "Effective degree of parallelism",
+            description = "Degree reported by FastTransfer, or the number of partitions that completed when not reported"
+        )
+        private final Integer degree;
+
+        @Schema(
+            title = "Parallel method used",
+            description = "Parallel split method reported by FastTransfer"
+        )
+        private final String method;
+
+        @Schema(
+            title = "Rows per partition",
+            description = "Number of rows loaded by each parallel thread or partition, keyed by its index"
+        )
+        private final Map<String, Long> partitionRows;
+
+        @Schema(
+            title = "Watermark",
+            description = "In incremental mode, SQL literal of the greatest value of `watermarkColumn` transferred so far"
+        )
+        private final String watermark;
+
+        @Schema(
+            title = "Skipped",
+            description = "Whether the transfer was skipped, the source being unchanged or having no row after the watermark"
+        )
+        private final Boolean skipped;
+
+        @Schema(title = "Verification", description = "Comparison of the source and the target, when `verify` is enabled")
+        private final VerificationOutput verification;
+
+        @Schema(title = "Merged rows", description = "With `loadMode: Merge`, number of rows inserted or updated in the target, as reported by the target")
+        private final Long mergedRows;
     }
 
 
@@ -0,0 +1,347 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Backfill a table window by window with FastTransfer.",
+    description = "This task splits the interval between `from` (included) and `to` (excluded) of a date or numeric column into windows of `windowDuration` or `windowSize`. " +
+        "It runs one FastTransfer process per window, appending to the target, with at most `concurrency` processes at the same time. " +
+        "Each completed window is recorded in the KV store of the namespace, so that running the backfill again, for instance after a failure, only transfers the windows not completed yet. " +
+        "A failed process may have committed part of its window: before transferring again a window started by a previous run, its rows are deleted from the target, " +
+        "on the column of the same name."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Backfill one year of orders, one day per process, eight days at a time",
+            code = {
+                "sourceConnectionType: pgsql",
+                "sourceServer: localhost:5432",
+                "sourceUser: FastTransfer_Login",
+                "sourcePassword: FastPassword",
+                "sourceDatabase: tpch",
+                "sourceSchema: public",
+                "sourceTable: orders",
+                "targetConnectionType: msbulk",
+                "targetServer: localhost,31433",
+                "targetUser: FastTransfer_Login",
+                "targetPassword: FastPassword",
+                "targetDatabase: tpch",
+                "targetSchema: dbo",
+                "targetTable: orders",
+                "column: o_orderdate",
+                "from: \"2023-01-01\"",
+                "to: \"2024-01-01\"",
+                "windowDuration: P1D",
+                "concurrency: 8",
+                "license: YOUR_LICENSE_KEY"
+            }
+        )
+    }
+)
+public class FastTransferBackfill extends AbstractFastTransfer implements RunnableTask<FastTransferBackfill.Output> {
+    static final String KEY_PREFIX = "fasttransfer.backfill.";
+
+    @Schema(title = "Source table", description = "Source table name")
+    private Property<String> sourceTable;
+
+    @Schema(title = "SQL query", description = "Plain SQL query read instead of `sourceTable`, each window restricting its result")
+    private Property<String> query;
+
+    @Schema(title = "Target table", description = "Target table name")
+    @NotNull
+    private Property<String> targetTable;
+
+    @Schema(title = "Window column", description = "Date, timestamp or numeric column the windows are taken on")
+    @NotNull
+    private Property<String> column;
+
+    @Schema(title = "Start of the backfill", description = "Included; an ISO date or date-time, e.g. `2023-01-01`, or a number")
+    @NotNull
+    private Property<String> from;
+
+    @Schema(title = "End of the backfill", description = "Excluded; an ISO date or date-time, or a number")
+    @NotNull
+    private Property<String> to;
+
+    @Schema(title = "Window duration", description = "Width of the windows on a date or timestamp column")
+    private Property<Duration> windowDuration;
+
+    @Schema(title = "Window size", description = "Width of the windows on a numeric column")
+    private Property<Long> windowSize;
+
+    @Schema(title = "Concurrency", description = "Maximum number of FastTransfer processes running at the same time for this task.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.of(4);
+
+    @Schema(
+        title = "Checkpoint KV key",
+        description = "Key of the completed windows in the KV store of the namespace. Defaults to a key derived from the source and target tables, the column and the windows."
+    )
+    private Property<String> checkpointKey;
+
+    @Schema(title = "Restart", description = "Forget the completed windows and transfer all of them again, after deleting from the target the rows of the windows transferred before.")
+    @Builder.Default
+    private Property<Boolean> restart = Property.of(false);
+
+    @Override
+    public FastTransferBackfill.Output run(RunContext runContext) throws Exception {
+        FastTransferCommand shared = renderCommand(runContext)
+            .put("--sourcetable", runContext.render(sourceTable).as(String.class).orElse(null))
+            .put("--query", runContext.render(query).as(String.class).orElse(null))
+            .put("--targettable", runContext.render(targetTable).as(String.class).orElseThrow());
+
+        String mode = shared.get("--loadmode");
+        if (mode != null && !mode.equalsIgnoreCase("Append")) {
+            runContext.logger().warn("Load mode {} replaced by Append, each window appending to the target", mode);
+        }
+        shared.put("--loadmode", "Append");
+
+        String renderedColumn = runContext.render(column).as(String.class).orElseThrow();
+        String renderedFrom = runContext.render(from).as(String.class).orElseThrow();
+        String renderedTo = runContext.render(to).as(String.class).orElseThrow();
+        List<Window> windows = windows(
+            renderedFrom,
+            renderedTo,
+            runContext.render(windowDuration).as(Duration.class).orElse(null),
+            runContext.render(windowSize).as(Long.class).orElse(null)
+        );
+        int maxConcurrency = Math.max(1, runContext.render(concurrency).as(Integer.class).orElse(4));
+
+        KVStore store = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String key = runContext.render(checkpointKey).as(String.class).orElse(
+            KEY_PREFIX + Admission.sha256(Admission.transferIdentity(shared) + "#" + renderedColumn + "#" + renderedFrom + "#" + renderedTo + "#" + windows.size()).substring(0, 16)
+        );
+        Checkpoint checkpoint = Checkpoint.load(store, key, runContext.render(restart).as(Boolean.class).orElse(false));
+
+        Dialect dialect = sourceEndpoint(runContext, shared).dialect();
+        List<Window> pending = windows.stream().filter(window -> !checkpoint.completed(window)).toList();
+
+        // une fenêtre commencée a pu valider une partie de ses lots avant l'échec, ses lignes sont supprimées de la cible
+        List<Window> dirty = pending.stream().filter(checkpoint::started).toList();
+        long deleted = 0;
+        if (!dirty.isEmpty()) {
+            deleted = delete(targetEndpoint(runContext, shared), shared.get("--targetschema"), shared.get("--targettable"), renderedColumn, dirty);
+            runContext.logger().info("{} rows of {} windows started by a previous run deleted from the target", deleted, dirty.size());
+        }
+
+        List<FastTransferCommand> commands = new ArrayList<>();
+        for (Window window : pending) {
+            FastTransferCommand command = shared.copy();
+            SourceQuery.of(dialect, command).where(window.condition(dialect, renderedColumn)).applyTo(command);
+            commands.add(command);
+        }
+
+        runContext.logger().info(
+            "{} windows from {} to {}, {} already completed, checkpoint {}",
+            windows.size(), renderedFrom, renderedTo, windows.size() - pending.size(), key
+        );
+
+        List<TableOutput> outputs = transferAll(
+            runContext,
+            commands,
+            pending.stream().map(Window::name).toList(),
+            maxConcurrency,
+            // une fenêtre n'est marquée commencée qu'une fois admise, juste avant son process
+            index -> checkpoint.start(pending.get(index)),
+            (index, output) -> {
+                if (!output.isFailed()) {
+                    checkpoint.complete(pending.get(index));
+                }
+            }
+        );
+
+        long failed = outputs.stream().filter(TableOutput::isFailed).count();
+        if (failed > 0) {
+            throw new RuntimeException("FastTransfer failed for " + failed + " of " + pending.size() + " windows, " +
+                "running the backfill again transfers the windows not completed");
+        }
+
+        return Output.builder()
+            .windows(outputs)
+            .skippedWindows(windows.size() - pending.size())
+            .deletedRows(deleted)
+            .totalRows(outputs.stream().mapToLong(TableOutput::getTotalRows).sum())
+            .build();
+    }
+
+    private static long delete(JdbcEndpoint target, String schema, String table, String column, List<Window> windows) throws Exception {
+        Dialect dialect = target.dialect();
+        try (Connection connection = target.connect()) {
+            connection.setAutoCommit(false);
+            long deleted = 0;
+            try (Statement statement = connection.createStatement()) {
+                for (Window window : windows) {
+                    deleted += statement.executeLargeUpdate("DELETE FROM " + dialect.qualify(schema, table) + " WHERE " + window.condition(dialect, column));
+                }
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+            return deleted;
+        }
+    }
+
+    /**
+     * Split {@code [from, to)} into consecutive windows, the last one ending at {@code to}.
+     */
+    static List<Window> windows(String from, String to, Duration duration, Long size) {
+        if ((duration == null) == (size == null)) {
+            throw new IllegalArgumentException("Exactly one of `windowDuration` and `windowSize` is required");
+        }
+
+        List<Window> windows = new ArrayList<>();
+        if (duration != null) {
+            if (duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException("`windowDuration` must be positive");
+            }
+            LocalDateTime end = dateTime(to);
+            for (LocalDateTime lower = dateTime(from); lower.isBefore(end); lower = lower.plus(duration)) {
+                LocalDateTime upper = lower.plus(duration).isBefore(end) ? lower.plus(duration) : end;
+                windows.add(new Window(Timestamp.valueOf(lower), Timestamp.valueOf(upper), lower + "/" + upper));
+            }
+        } else {
+            if (size <= 0) {
+                throw new IllegalArgumentException("`windowSize` must be positive");
+            }
+            BigDecimal end = new BigDecimal(to);
+            BigDecimal step = BigDecimal.valueOf(size);
+            for (BigDecimal lower = new BigDecimal(from); lower.compareTo(end) < 0; lower = lower.add(step)) {
+                BigDecimal upper = lower.add(step).min(end);
+                windows.add(new Window(lower, upper, lower.toPlainString() + "/" + upper.toPlainString()));
+            }
+        }
+        return windows;
+    }
+
+    private static LocalDateTime dateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+    }
+
+    /**
+     * The windows completed, and the windows started, by the runs of a backfill, recorded in the KV store.
+     */
+    static final class Checkpoint {
+        private final KVStore store;
+        private final String key;
+        private final Set<String> completed;
+        private final Set<String> started;
+
+        private Checkpoint(KVStore store, String key, Set<String> completed, Set<String> started) {
+            this.store = store;
+            this.key = key;
+            this.completed = completed;
+            this.started = started;
+        }
+
+        /**
+         * @param restart forget the completed windows, so that they are deleted and transferred again
+         */
+        static Checkpoint load(KVStore store, String key, boolean restart) throws Exception {
+            return new Checkpoint(store, key, restart ? new LinkedHashSet<>() : entries(store, key, "completed"), entries(store, key, "started"));
+        }
+
+        synchronized boolean completed(Window window) {
+            return completed.contains(window.name());
+        }
+
+        /**
+         * Whether a run began to transfer the window, its rows possibly committed in part.
+         */
+        synchronized boolean started(Window window) {
+            return started.contains(window.name());
+        }
+
+        synchronized void start(Window window) {
+            started.add(window.name());
+            record();
+        }
+
+        synchronized void complete(Window window) {
+            completed.add(window.name());
+            record();
+        }
+
+        // les fenêtres démarrent et se terminent en parallèle, le point de reprise est réécrit sous verrou
+        private void record() {
+            try {
+                store.put(key, new KVValueAndMetadata(new KVMetadata((Duration) null), Map.of("completed", List.copyOf(completed), "started", List.copyOf(started))));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @param entry {@code completed} for the windows transferred, {@code started} for the windows a run began to transfer
+         */
+        private static Set<String> entries(KVStore store, String key, String entry) throws Exception {
+            Optional<KVValue> stored = store.getValue(key);
+            Set<String> windows = new LinkedHashSet<>();
+            if (stored.isPresent() && stored.get().value() instanceof Map<?, ?> value && value.get(entry) instanceof List<?> list) {
+                list.forEach(name -> windows.add(String.valueOf(name)));
+            }
+            return windows;
+        }
+    }
+
+    /**
+     * @param name the window in ISO interval notation, also its checkpoint entry
+     */
+    record Window(Object lower, Object upper, String name) {
+        String condition(Dialect dialect, String column) {
+            String quoted = dialect.quote(column);
+            return quoted + " >= " + dialect.literal(lower) + " AND " + quoted + " < " + dialect.literal(upper);
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Result of each window transferred by this run, in order")
+        private final List<TableOutput> windows;
+
+        @Schema(title = "Number of windows skipped as completed by a previous run")
+        private final Integer skippedWindows;
+
+        @Schema(title = "Number of rows deleted from the target for the windows started by a previous run")
+        private final Long deletedRows;
+
+        @Schema(title = "Total rows", description = "Number of rows transferred by this run")
+        private final Long totalRows;
+    }
+}
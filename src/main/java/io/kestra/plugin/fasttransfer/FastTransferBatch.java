@@ -0,0 +1,134 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.*;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Execute several FastTransfer data movements sharing the same connections.",
+    description = "This task runs one FastTransfer process per table pair, with at most `concurrency` processes at the same time. " +
+        "Connection and tuning settings are rendered once and shared by every table, and the binary is staged once for the whole batch. " +
+        "Every process still goes through the target and worker parallelism budgets."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Copy three tables from SQL Server to PostgreSQL, two at a time",
+            code = {
+                "sourceConnectionType: mssql",
+                "sourceServer: localhost,11433",
+                "sourceUser: FastTransfer_Login",
+                "sourcePassword: FastPassword",
+                "sourceDatabase: tpch10",
+                "sourceSchema: dbo",
+                "targetConnectionType: pgcopy",
+                "targetServer: localhost:5432",
+                "targetUser: FastTransfer_Login",
+                "targetPassword: FastPassword",
+                "targetDatabase: tpch10",
+                "targetSchema: public",
+                "loadMode: Truncate",
+                "mapMethod: Name",
+                "concurrency: 2",
+                "tables:",
+                "  - sourceTable: orders",
+                "    targetTable: orders",
+                "  - sourceTable: lineitem",
+                "    targetTable: lineitem",
+                "  - query: SELECT * FROM dbo.customer WHERE c_mktsegment = 'BUILDING'",
+                "    targetTable: customer_building",
+                "license: YOUR_LICENSE_KEY"
+            }
+        )
+    }
+)
+public class FastTransferBatch extends AbstractFastTransfer implements RunnableTask<FastTransferBatch.Output> {
+    @Schema(title = "Tables", description = "Source and target of each transfer; the schemas default to `sourceSchema` and `targetSchema`.")
+    @NotNull
+    private Property<List<Table>> tables;
+
+    @Schema(title = "Concurrency", description = "Maximum number of FastTransfer processes running at the same time for this task.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.of(4);
+
+    @Override
+    public FastTransferBatch.Output run(RunContext runContext) throws Exception {
+        List<Table> renderedTables = runContext.render(tables).asList(Table.class);
+        int maxConcurrency = Math.max(1, runContext.render(concurrency).as(Integer.class).orElse(4));
+
+        FastTransferCommand shared = renderCommand(runContext);
+        List<FastTransferCommand> commands = new ArrayList<>();
+        for (Table table : renderedTables) {
+            commands.add(table.apply(shared.copy()));
+        }
+
+        List<TableOutput> outputs = transferAll(runContext, commands, maxConcurrency);
+        failIfAny(outputs);
+
+        return Output.builder()
+            .tables(outputs)
+            .totalRows(outputs.stream().mapToLong(TableOutput::getTotalRows).sum())
+            .build();
+    }
+
+    @Builder
+    @Getter
+    @Jacksonized
+    public static class Table {
+        @Schema(title = "Source schema", description = "Defaults to the task `sourceSchema`")
+        private String sourceSchema;
+
+        @Schema(title = "Source table", description = "Source table name")
+        private String sourceTable;
+
+        @Schema(title = "SQL query", description = "Plain SQL query to execute instead of reading `sourceTable`")
+        private String query;
+
+        @Schema(title = "Target schema", description = "Defaults to the task `targetSchema`")
+        private String targetSchema;
+
+        @Schema(title = "Target table", description = "Target table name")
+        @NotNull
+        private String targetTable;
+
+        /**
+         * Set the tables on a copy of the shared command, the fields being already rendered with the `tables` list.
+         */
+        FastTransferCommand apply(FastTransferCommand command) {
+            if (sourceSchema != null) {
+                command.put("--sourceschema", sourceSchema);
+            }
+            if (targetSchema != null) {
+                command.put("--targetschema", targetSchema);
+            }
+            return command
+                .put("--sourcetable", sourceTable)
+                .put("--query", query)
+                .put("--targettable", targetTable);
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Result of each table transfer, in the order of `tables`")
+        private final List<TableOutput> tables;
+
+        @Schema(title = "Total rows", description = "Number of rows transferred by all the tables")
+        private final Long totalRows;
+    }
+}
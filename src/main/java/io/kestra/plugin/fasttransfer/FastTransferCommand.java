@@ -0,0 +1,119 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The rendered arguments of a FastTransfer invocation, keyed by their command-line flag.
+ * <p>
+ * Arguments are kept rendered so that they can be adjusted (admitted degree, generated query...) before the process is
+ * started, and so that the same rendered settings can be reused for several invocations.
+ */
+final class FastTransferCommand {
+    static final String DEGREE = "--degree";
+    static final String METHOD = "--method";
+
+    private static final Set<String> BOOLEAN_FLAGS = Set.of("--sourcetrusted", "--targettrusted", "--useworktables");
+    private static final Set<String> SENSITIVE_FLAGS = Set.of("--sourcepassword", "--targetpassword", "--license");
+
+    private final Map<String, String> arguments;
+    private String sourceTable;
+    private String sourceQuery;
+
+    FastTransferCommand() {
+        this.arguments = new LinkedHashMap<>();
+    }
+
+    private FastTransferCommand(Map<String, String> arguments, String sourceTable, String sourceQuery) {
+        this.arguments = new LinkedHashMap<>(arguments);
+        this.sourceTable = sourceTable;
+        this.sourceQuery = sourceQuery;
+    }
+
+    /**
+     * Set an argument, or remove it when the value is {@code null} or empty.
+     */
+    FastTransferCommand put(String flag, String value) {
+        if (value == null || value.isEmpty()) {
+            arguments.remove(flag);
+        } else {
+            arguments.put(flag, value);
+        }
+        return this;
+    }
+
+    String get(String flag) {
+        return arguments.get(flag);
+    }
+
+    Integer getInteger(String flag) {
+        String value = arguments.get(flag);
+        return value == null ? null : Integer.valueOf(value.trim());
+    }
+
+    FastTransferCommand copy() {
+        return new FastTransferCommand(arguments, sourceTable, sourceQuery);
+    }
+
+    /**
+     * Read a query generated over the source table instead of the table itself.
+     */
+    FastTransferCommand replaceSource(String query) {
+        if (sourceTable == null && sourceQuery == null) {
+            sourceTable = arguments.get("--sourcetable");
+            sourceQuery = arguments.get("--query");
+        }
+        arguments.remove("--sourcetable");
+        return put("--query", query);
+    }
+
+    /**
+     * @return the source table, even when it was replaced by a generated query
+     */
+    String sourceTable() {
+        return sourceTable != null || sourceQuery != null ? sourceTable : arguments.get("--sourcetable");
+    }
+
+    /**
+     * @return the user query, even when it was replaced by a generated query
+     */
+    String sourceQuery() {
+        return sourceTable != null || sourceQuery != null ? sourceQuery : arguments.get("--query");
+    }
+
+    List<String> toCommand(Path executable) {
+        return build(executable, false);
+    }
+
+    String toLog(Path executable) {
+        return String.join(" ", build(executable, true));
+    }
+
+    private List<String> build(Path executable, boolean masked) {
+        List<String> command = new ArrayList<>();
+        command.add(executable.toString());
+
+        for (Map.Entry<String, String> entry : arguments.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+
+            // Si c'est un paramètre booléen et la valeur est "true", on ajoute juste la clé (flag)
+            if (BOOLEAN_FLAGS.contains(key)) {
+                if (Boolean.parseBoolean(value)) {
+                    command.add(key);
+                }
+                // Si false, on n'ajoute rien (pas de flag)
+            } else {
+                // Pour les autres paramètres, on ajoute clé + valeur
+                command.add(key);
+                command.add(masked && SENSITIVE_FLAGS.contains(key) ? "*******" : value);
+            }
+        }
+
+        return command;
+    }
+}
@@ -0,0 +1,294 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+import io.kestra.plugin.fasttransfer.dialect.KeyColumn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Split a large source table into partitions transferred by several workers.",
+    description = "This task reads the bounds (`RANGE`) or the distinct values (`DATA_DRIVEN`) of a column of `sourceTable` through JDBC, " +
+        "and writes one item per partition to an ION file of the internal storage. Each item holds the SQL `query` reading its partition only, " +
+        "so that a `ForEachItem` or `EachParallel` can run one `FastTransfer` per partition, each on any worker, into the same target table."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Spread a large table over the workers, each subflow execution transferring one partition",
+            code = {
+                "id: lineitem_fanout",
+                "namespace: company.team",
+                "",
+                "tasks:",
+                "  - id: plan",
+                "    type: io.kestra.plugin.fasttransfer.FastTransferPartitionPlan",
+                "    sourceConnectionType: mssql",
+                "    sourceServer: localhost,11433",
+                "    sourceUser: FastTransfer_Login",
+                "    sourcePassword: FastPassword",
+                "    sourceDatabase: tpch10",
+                "    sourceSchema: dbo",
+                "    sourceTable: lineitem",
+                "    partitionColumn: l_orderkey",
+                "    partitions: 16",
+                "",
+                "  - id: transfer",
+                "    type: io.kestra.plugin.core.flow.ForEachItem",
+                "    items: \"{{ outputs.plan.uri }}\"",
+                "    batch:",
+                "      rows: 1",
+                "    namespace: company.team",
+                "    flowId: lineitem_partition",
+                "    inputs:",
+                "      partition: \"{{ taskrun.items }}\""
+            }
+        )
+    }
+)
+public class FastTransferPartitionPlan extends AbstractSourceConnection implements RunnableTask<FastTransferPartitionPlan.Output> {
+    static final int MAX_DISTINCT_VALUES = 10_000;
+    /**
+     * Oracle refuses the IN lists of more than 1000 items (ORA-01795).
+     */
+    static final int MAX_IN_LIST = 1000;
+    /**
+     * In UTF-8 bytes, the query of a partition being given to FastTransfer as a single argument, limited to 128 KiB on
+     * Linux.
+     */
+    static final int MAX_CONDITION_LENGTH = 96 * 1024;
+
+    @Schema(title = "Source table", description = "Source table name")
+    @NotNull
+    private Property<String> sourceTable;
+
+    @Schema(
+        title = "Partition column",
+        description = "Column the table is split on. Defaults to the first numeric column of the primary key for `RANGE`, and to the first key column for `DATA_DRIVEN`."
+    )
+    private Property<String> partitionColumn;
+
+    @Schema(title = "Number of partitions")
+    @Builder.Default
+    private Property<Integer> partitions = Property.of(8);
+
+    @Schema(
+        title = "Partitioning method",
+        description = "`RANGE` splits the interval between the minimum and the maximum of a numeric column into ranges of equal width. " +
+            "`DATA_DRIVEN` groups the distinct values of the column into partitions of similar row counts, and is limited to " + MAX_DISTINCT_VALUES + " distinct values; " +
+            "the last partition reads every value outside the other partitions, so that the values appearing after the planning are not left out. " +
+            "The planning fails when the values of a partition do not fit in its query, `RANGE` is then required."
+    )
+    @Builder.Default
+    private Property<Method> partitionMethod = Property.of(Method.RANGE);
+
+    @Override
+    public FastTransferPartitionPlan.Output run(RunContext runContext) throws Exception {
+        FastTransferCommand command = renderCommand(runContext)
+            .put("--sourcetable", runContext.render(sourceTable).as(String.class).orElseThrow());
+        String schema = command.get("--sourceschema");
+        String table = command.get("--sourcetable");
+        int count = Math.max(1, runContext.render(partitions).as(Integer.class).orElse(8));
+        Method renderedMethod = runContext.render(partitionMethod).as(Method.class).orElse(Method.RANGE);
+
+        JdbcEndpoint source = sourceEndpoint(runContext, command);
+        Dialect dialect = source.dialect();
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        String column;
+        try (Connection connection = source.connect()) {
+            column = runContext.render(partitionColumn).as(String.class).orElse(null);
+            if (column == null) {
+                column = defaultColumn(connection, dialect, schema, table, renderedMethod);
+            }
+
+            if (renderedMethod == Method.RANGE) {
+                for (KeyRange range : KeyRange.of(connection, SourceQuery.table(dialect, schema, table), column, count)) {
+                    Map<String, Object> item = item(items.size(), schema, table, column);
+                    item.put("lowerBound", range.lower());
+                    item.put("upperBound", range.upper());
+                    item.put("estimatedRows", range.rows());
+                    item.put("query", SourceQuery.table(dialect, schema, table).where(range.condition(dialect, column)).toSql());
+                    items.add(item);
+                }
+            } else {
+                for (Group group : groups(distinctValues(connection, dialect, schema, table, column), count)) {
+                    Map<String, Object> item = item(items.size(), schema, table, column);
+                    item.put("values", group.values());
+                    item.put("estimatedRows", group.rows());
+                    item.put("query", SourceQuery.table(dialect, schema, table).where(group.condition(dialect, column)).toSql());
+                    items.add(item);
+                }
+            }
+        }
+
+        items.forEach(item -> item.put("partitions", items.size()));
+
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            for (Map<String, Object> item : items) {
+                FileSerde.write(output, item);
+            }
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        runContext.logger().info("{} split on {} into {} partitions", table, column, items.size());
+
+        return Output.builder()
+            .uri(uri)
+            .partitions(items.size())
+            .column(column)
+            .build();
+    }
+
+    private static Map<String, Object> item(int index, String schema, String table, String column) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("index", index);
+        item.put("sourceSchema", schema);
+        item.put("sourceTable", table);
+        item.put("column", column);
+        return item;
+    }
+
+    private static String defaultColumn(Connection connection, Dialect dialect, String schema, String table, Method method) throws Exception {
+        List<KeyColumn> keys = dialect.keyColumns(connection, schema, table);
+        return keys.stream()
+            .filter(key -> method == Method.DATA_DRIVEN || key.numeric())
+            .findFirst()
+            .map(KeyColumn::name)
+            .orElseThrow(() -> new IllegalArgumentException(
+                "No " + (method == Method.RANGE ? "numeric " : "") + "key column found on " + table + ", `partitionColumn` is required"
+            ));
+    }
+
+    private static Map<Object, Long> distinctValues(Connection connection, Dialect dialect, String schema, String table, String column) throws Exception {
+        String sql = "SELECT " + dialect.quote(column) + ", COUNT(*) FROM " + dialect.qualify(schema, table) + " GROUP BY " + dialect.quote(column);
+        Map<Object, Long> values = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                if (values.size() >= MAX_DISTINCT_VALUES) {
+                    throw new IllegalArgumentException(column + " has more than " + MAX_DISTINCT_VALUES + " distinct values, use the RANGE method");
+                }
+                values.put(rs.getObject(1), rs.getLong(2));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Group the values into at most {@code count} groups of similar row counts, the largest values placed first each in
+     * the least loaded group. The last group reads the values outside the other groups, the missing ones included.
+     */
+    static List<Group> groups(Map<Object, Long> values, int count) {
+        List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, Math.max(1, values.size())); i++) {
+            groups.add(new Group());
+        }
+
+        values.entrySet().stream()
+            .sorted(Map.Entry.<Object, Long>comparingByValue().reversed())
+            .forEach(entry -> {
+                Group group = groups.stream().min(Comparator.comparingLong(Group::rows)).orElseThrow();
+                group.values.add(entry.getKey());
+                group.rows += entry.getValue();
+            });
+
+        // les valeurs apparues entre la planification et l'exécution ne sont dans aucun groupe, la dernière partition
+        // lit tout ce que les autres ne lisent pas
+        groups.getLast().excluded = groups.subList(0, groups.size() - 1).stream().flatMap(group -> group.values.stream()).toList();
+        return groups;
+    }
+
+    static final class Group {
+        private final List<Object> values = new ArrayList<>();
+        private long rows;
+        private List<Object> excluded;
+
+        List<Object> values() {
+            return values;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        String condition(Dialect dialect, String column) {
+            String quoted = dialect.quote(column);
+            String condition;
+            if (excluded == null) {
+                List<String> conditions = new ArrayList<>(in(dialect, quoted, values));
+                if (values.contains(null)) {
+                    conditions.add(quoted + " IS NULL");
+                }
+                condition = conditions.isEmpty() ? "1 = 0" : String.join(" OR ", conditions);
+            } else {
+                List<String> in = in(dialect, quoted, excluded);
+                String outside = in.isEmpty() ? null : "NOT (" + String.join(" OR ", in) + ")";
+                if (excluded.contains(null)) {
+                    condition = outside == null ? quoted + " IS NOT NULL" : outside;
+                } else {
+                    condition = outside == null ? "1 = 1" : quoted + " IS NULL OR " + outside;
+                }
+            }
+
+            if (condition.getBytes(StandardCharsets.UTF_8).length > MAX_CONDITION_LENGTH) {
+                throw new IllegalArgumentException("The values of " + column + " do not fit in the query of a partition, use the RANGE method");
+            }
+            return condition;
+        }
+
+        /**
+         * The IN lists of the non-null values, by chunks Oracle accepts.
+         */
+        private static List<String> in(Dialect dialect, String quoted, List<Object> values) {
+            List<String> literals = values.stream().filter(Objects::nonNull).map(dialect::literal).toList();
+            List<String> lists = new ArrayList<>();
+            for (int i = 0; i < literals.size(); i += MAX_IN_LIST) {
+                lists.add(quoted + " IN (" + String.join(", ", literals.subList(i, Math.min(literals.size(), i + MAX_IN_LIST))) + ")");
+            }
+            return lists;
+        }
+    }
+
+    public enum Method {
+        RANGE,
+        DATA_DRIVEN
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the ION file holding one item per partition", description = "Each item has the `index`, `partitions`, `sourceSchema`, `sourceTable`, `column`, `estimatedRows` and `query` of its partition.")
+        private final URI uri;
+
+        @Schema(title = "Number of partitions")
+        private final Integer partitions;
+
+        @Schema(title = "Column the table was split on")
+        private final String column;
+    }
+}
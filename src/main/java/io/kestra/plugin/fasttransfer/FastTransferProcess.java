@@ -0,0 +1,52 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs a FastTransfer command and forwards its merged stdout and stderr, line by line, while the process is alive.
+ * Nothing is buffered beyond the current line: consumers decide what to keep. Unless the process exits by itself, its
+ * whole tree is terminated, whatever stopped the run.
+ */
+final class FastTransferProcess {
+    private FastTransferProcess() {
+    }
+
+    static int run(List<String> command, List<Consumer<String>> consumers, RunningProcesses running) throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectErrorStream(true);
+
+        Process process = pb.start();
+        running.register(process);
+
+        boolean exited = false;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("FastTransfer run was interrupted");
+                }
+                for (Consumer<String> consumer : consumers) {
+                    consumer.accept(line);
+                }
+            }
+
+            int exitCode = process.waitFor();
+            exited = true;
+            if (running.isKilled()) {
+                throw new InterruptedException("FastTransfer process was killed");
+            }
+            return exitCode;
+        } finally {
+            // une exception d'un consommateur ou de la lecture laisserait sinon tourner le process et ses enfants
+            if (!exited) {
+                RunningProcesses.terminate(process.toHandle(), running.gracePeriod());
+            }
+            running.unregister(process);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.fasttransfer.dialect.TableStatistics;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.sql.Connection;
+import java.util.*;
+import java.util.regex.Pattern;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Transfer every table of a source schema with FastTransfer.",
+    description = "This task lists the tables of `sourceSchema` and their approximate size from the source catalog statistics, through JDBC. " +
+        "It then runs one FastTransfer process per table into the table of the same name in `targetSchema`. " +
+        "The largest tables are started first across at most `concurrency` processes, so that a big table does not start last and delay the end of the whole transfer."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Refresh a whole schema, four tables at a time, skipping the staging tables",
+            code = {
+                "sourceConnectionType: mssql",
+                "sourceServer: localhost,11433",
+                "sourceUser: FastTransfer_Login",
+                "sourcePassword: FastPassword",
+                "sourceDatabase: tpch10",
+                "sourceSchema: dbo",
+                "targetConnectionType: msbulk",
+                "targetServer: localhost,31433",
+                "targetUser: FastTransfer_Login",
+                "targetPassword: FastPassword",
+                "targetDatabase: tpch10",
+                "targetSchema: dbo",
+                "loadMode: Truncate",
+                "mapMethod: Name",
+                "exclude:",
+                "  - stg_*",
+                "concurrency: 4",
+                "license: YOUR_LICENSE_KEY"
+            }
+        )
+    }
+)
+public class FastTransferSchema extends AbstractFastTransfer implements RunnableTask<FastTransferSchema.Output> {
+    @Schema(title = "Included tables", description = "Table name patterns to transfer, `*` and `?` being wildcards; all the tables of the schema when empty.")
+    private Property<List<String>> include;
+
+    @Schema(title = "Excluded tables", description = "Table name patterns to skip, `*` and `?` being wildcards.")
+    private Property<List<String>> exclude;
+
+    @Schema(title = "Concurrency", description = "Maximum number of FastTransfer processes running at the same time for this task.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.of(4);
+
+    @Override
+    public FastTransferSchema.Output run(RunContext runContext) throws Exception {
+        FastTransferCommand shared = renderCommand(runContext);
+        String schema = shared.get("--sourceschema");
+        if (schema == null) {
+            throw new IllegalArgumentException("`sourceSchema` is required");
+        }
+
+        List<Pattern> includes = patterns(runContext.render(include).asList(String.class));
+        List<Pattern> excludes = patterns(runContext.render(exclude).asList(String.class));
+        int maxConcurrency = Math.max(1, runContext.render(concurrency).as(Integer.class).orElse(4));
+
+        JdbcEndpoint source = sourceEndpoint(runContext, shared);
+        List<TableStatistics> tables;
+        try (Connection connection = source.connect()) {
+            tables = source.dialect().tables(connection, schema);
+        }
+
+        List<TableStatistics> selected = select(tables, includes, excludes);
+
+        runContext.logger().info("{} of the {} tables of {} selected", selected.size(), tables.size(), schema);
+
+        List<FastTransferCommand> commands = new ArrayList<>();
+        for (TableStatistics table : selected) {
+            commands.add(shared.copy()
+                .put("--sourcetable", table.table())
+                .put("--targettable", table.table())
+            );
+        }
+
+        List<TableOutput> outputs = transferAll(runContext, commands, maxConcurrency);
+        failIfAny(outputs);
+
+        return Output.builder()
+            .tables(outputs)
+            .totalRows(outputs.stream().mapToLong(TableOutput::getTotalRows).sum())
+            .build();
+    }
+
+    /**
+     * The tables matching an include pattern, all of them without any, and no exclude pattern, largest first.
+     */
+    static List<TableStatistics> select(List<TableStatistics> tables, List<Pattern> includes, List<Pattern> excludes) {
+        // Le plus gros en premier : la fin du transfert n'est pas retardée par une grosse table lancée en dernier
+        return tables.stream()
+            .filter(table -> includes.isEmpty() || includes.stream().anyMatch(p -> p.matcher(table.table()).matches()))
+            .filter(table -> excludes.stream().noneMatch(p -> p.matcher(table.table()).matches()))
+            .sorted(Comparator.comparingLong(TableStatistics::bytes).thenComparingLong(TableStatistics::rows).reversed())
+            .toList();
+    }
+
+    static List<Pattern> patterns(List<String> globs) {
+        return globs.stream()
+            .map(glob -> Pattern.compile(
+                Pattern.quote(glob).replace("*", "\\E.*\\Q").replace("?", "\\E.\\Q"),
+                Pattern.CASE_INSENSITIVE
+            ))
+            .toList();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Result of each table transfer, largest tables first")
+        private final List<TableOutput> tables;
+
+        @Schema(title = "Total rows", description = "Number of rows transferred by all the tables")
+        private final Long totalRows;
+    }
+}
@@ -0,0 +1,200 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.*;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.slf4j.Logger;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Start a flow when a source table of FastTransfer changed.",
+    description = "This trigger computes the fingerprint of a source through JDBC at every `interval`: its row count and the greatest value of `fingerprintColumn`, " +
+        "or the first row of `fingerprintQuery`. It starts an execution when the fingerprint differs from the one of the previous execution, kept in the KV store of the namespace. " +
+        "The first evaluation always starts an execution.\n\n" +
+        "The row count reads the whole table at each evaluation: on a large table, use a `fingerprintQuery` on the catalog statistics or an indexed column, or a longer `interval`. " +
+        "The fingerprint is recorded when the execution is started, not when it succeeds: a failed execution is not started again until the source changes. " +
+        "To retry until a transfer succeeds, schedule the flow instead and set `skipIfUnchanged` on the FastTransfer task, which records the fingerprint only after a successful transfer."
+)
+@Plugin(
+    examples = {
+        @Example(
+            full = true,
+            title = "Transfer the orders table only when it changed, checking every five minutes",
+            code = {
+                "id: orders_sync",
+                "namespace: company.team",
+                "",
+                "tasks:",
+                "  - id: transfer",
+                "    type: io.kestra.plugin.fasttransfer.FastTransfer",
+                "    sourceConnectionType: pgsql",
+                "    sourceServer: localhost:5432",
+                "    sourceUser: FastTransfer_Login",
+                "    sourcePassword: FastPassword",
+                "    sourceDatabase: tpch",
+                "    sourceSchema: public",
+                "    sourceTable: orders",
+                "    targetConnectionType: msbulk",
+                "    targetServer: localhost,31433",
+                "    targetUser: FastTransfer_Login",
+                "    targetPassword: FastPassword",
+                "    targetDatabase: tpch",
+                "    targetSchema: dbo",
+                "    targetTable: orders",
+                "    loadMode: Truncate",
+                "",
+                "triggers:",
+                "  - id: changed",
+                "    type: io.kestra.plugin.fasttransfer.FastTransferTrigger",
+                "    interval: PT5M",
+                "    sourceConnectionType: pgsql",
+                "    sourceServer: localhost:5432",
+                "    sourceUser: FastTransfer_Login",
+                "    sourcePassword: FastPassword",
+                "    sourceDatabase: tpch",
+                "    sourceSchema: public",
+                "    sourceTable: orders",
+                "    fingerprintColumn: updated_at"
+            }
+        )
+    }
+)
+public class FastTransferTrigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<FastTransferTrigger.Output> {
+    static final String KEY_PREFIX = "fasttransfer.trigger.";
+
+    @Schema(title = "Interval between two evaluations of the fingerprint", description = "Each evaluation runs the fingerprint query on the source.")
+    @Builder.Default
+    private final Duration interval = Duration.ofMinutes(15);
+
+    @Schema(title = "Source connection type", description = "Source connection type (e.g., mssql, pgsql, mysql, etc.)")
+    private Property<String> sourceConnectionType;
+
+    @Schema(title = "Source server", description = "Source SQL server address")
+    private Property<String> sourceServer;
+
+    @Schema(title = "Source user", description = "Username for source connection")
+    private Property<String> sourceUser;
+
+    @Schema(title = "Source password", description = "Password for source connection")
+    private Property<String> sourcePassword;
+
+    @Schema(title = "Source trusted", description = "Use trusted authentication for source")
+    private Property<Boolean> sourceTrusted;
+
+    @Schema(title = "Source database", description = "Source database name")
+    private Property<String> sourceDatabase;
+
+    @Schema(title = "Source schema", description = "Source schema name")
+    private Property<String> sourceSchema;
+
+    @Schema(title = "Source table", description = "Source table name")
+    private Property<String> sourceTable;
+
+    @Schema(
+        title = "Source JDBC URL",
+        description = "JDBC URL of the source. Defaults to a URL built from `sourceConnectionType`, `sourceServer` and `sourceDatabase`."
+    )
+    private Property<String> sourceJdbcUrl;
+
+    @Schema(title = "Fingerprint column", description = "Column whose greatest value is part of the fingerprint, typically a modification timestamp")
+    private Property<String> fingerprintColumn;
+
+    @Schema(title = "Fingerprint query", description = "Query whose first row is the fingerprint, instead of the row count and `fingerprintColumn` of `sourceTable`")
+    private Property<String> fingerprintQuery;
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--sourceconnectiontype", runContext.render(sourceConnectionType).as(String.class).orElse(null))
+            .put("--sourceserver", runContext.render(sourceServer).as(String.class).orElse(null))
+            .put("--sourceuser", runContext.render(sourceUser).as(String.class).orElse(null))
+            .put("--sourcepassword", runContext.render(sourcePassword).as(String.class).orElse(null))
+            .put("--sourcetrusted", runContext.render(sourceTrusted).as(Boolean.class).map(String::valueOf).orElse(null))
+            .put("--sourcedatabase", runContext.render(sourceDatabase).as(String.class).orElse(null))
+            .put("--sourceschema", runContext.render(sourceSchema).as(String.class).orElse(null))
+            .put("--sourcetable", runContext.render(sourceTable).as(String.class).orElse(null));
+        String query = runContext.render(fingerprintQuery).as(String.class).orElse(null);
+
+        JdbcEndpoint source = JdbcEndpoint.source(command, runContext.render(sourceJdbcUrl).as(String.class).orElse(null));
+        String fingerprint;
+        try (Connection connection = source.connect()) {
+            fingerprint = Fingerprint.compute(
+                connection,
+                query != null ? null : SourceQuery.of(source.dialect(), command),
+                runContext.render(fingerprintColumn).as(String.class).orElse(null),
+                query
+            );
+        }
+
+        KVStore store = runContext.namespaceKv(context.getNamespace());
+        String key = KEY_PREFIX + (context.getFlowId() + "." + context.getTriggerId()).replaceAll("[^a-zA-Z0-9._-]", "_");
+        Optional<Output> output = changed(store, key, fingerprint, runContext.logger());
+        if (output.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(TriggerService.generateExecution(this, conditionContext, context, output.get()));
+    }
+
+    /**
+     * Compare the fingerprint with the one of the previous execution, and record it when it changed.
+     *
+     * @return the output of the execution to start, empty when the source did not change
+     */
+    static Optional<Output> changed(KVStore store, String key, String fingerprint, Logger logger) throws Exception {
+        String previous = previous(store, key);
+        if (Objects.equals(previous, fingerprint)) {
+            logger.debug("Source fingerprint {} unchanged", fingerprint);
+            return Optional.empty();
+        }
+
+        // l'empreinte est enregistrée avant le démarrage : une exécution en échec n'est pas relancée tant que la source ne change pas
+        store.put(key, new KVValueAndMetadata(new KVMetadata((Duration) null), Map.of("fingerprint", fingerprint)));
+        logger.info("Source fingerprint changed from {} to {}", previous, fingerprint);
+
+        return Optional.of(Output.builder()
+            .fingerprint(fingerprint)
+            .previousFingerprint(previous)
+            .build());
+    }
+
+    private static String previous(KVStore store, String key) throws Exception {
+        Optional<KVValue> stored = store.getValue(key);
+        if (stored.isPresent() && stored.get().value() instanceof Map<?, ?> value && value.get("fingerprint") instanceof String fingerprint) {
+            return fingerprint;
+        }
+        return null;
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Fingerprint of the source")
+        private final String fingerprint;
+
+        @Schema(title = "Fingerprint of the source when the previous execution was started, empty for the first one")
+        private final String previousFingerprint;
+    }
+}
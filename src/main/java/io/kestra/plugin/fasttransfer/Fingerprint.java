@@ -0,0 +1,42 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A cheap summary of the content of a source, compared between runs to tell whether it changed: by default its row
+ * count and the greatest value of a column, typically a modification timestamp, or the first row of a user query.
+ * <p>
+ * The fingerprint only changes with the data when the column is updated by every write; a row count alone misses
+ * updates and a delete balanced by an insert.
+ */
+final class Fingerprint {
+    private Fingerprint() {
+    }
+
+    /**
+     * @param column column whose greatest value is part of the fingerprint, or {@code null}
+     * @param query query whose first row is the fingerprint, replacing the row count and the column, or {@code null}
+     */
+    static String compute(Connection connection, SourceQuery source, String column, String query) throws Exception {
+        String sql = query != null ? query :
+            "SELECT COUNT(*)" + (column != null ? ", MAX(" + source.dialect().quote(column) + ")" : "") + " FROM (" + source.toSql() + ") fp";
+
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                return "";
+            }
+
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<String> values = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                values.add(String.valueOf(rs.getObject(i)));
+            }
+            return String.join("|", values);
+        }
+    }
+}
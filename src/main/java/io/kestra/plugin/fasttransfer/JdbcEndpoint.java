@@ -0,0 +1,112 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JDBC view of the source or the target of a transfer, derived from the FastTransfer connection settings.
+ * <p>
+ * The URL is built from the connection type, server and database unless an explicit JDBC URL is given, which is
+ * required for connections described by a connect string or a DSN.
+ */
+final class JdbcEndpoint {
+    private final Dialect dialect;
+    private final String url;
+    private final String location;
+    private final Properties properties = new Properties();
+
+    /**
+     * @param location where the endpoint points to in the messages, the URL possibly holding credentials
+     */
+    private JdbcEndpoint(Dialect dialect, String url, String location, String user, String password) {
+        this.dialect = dialect;
+        this.url = url;
+        this.location = location;
+        if (user != null) {
+            properties.setProperty("user", user);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+    }
+
+    static JdbcEndpoint source(FastTransferCommand command, String jdbcUrl) {
+        return of(command, "source", jdbcUrl);
+    }
+
+    static JdbcEndpoint target(FastTransferCommand command, String jdbcUrl) {
+        return of(command, "target", jdbcUrl);
+    }
+
+    static JdbcEndpoint of(Dialect dialect, String url) {
+        return new JdbcEndpoint(dialect, url, "the given URL", null, null);
+    }
+
+    private static JdbcEndpoint of(FastTransferCommand command, String side, String jdbcUrl) {
+        Dialect dialect = Dialect.of(command.get("--" + side + "connectiontype"));
+
+        String url = jdbcUrl;
+        String location = "`" + side + "JdbcUrl`";
+        if (url == null) {
+            String server = command.get("--" + side + "server");
+            if (server == null) {
+                throw new IllegalArgumentException("`" + side + "Server` or `" + side + "JdbcUrl` is required to query the " + side + " through JDBC");
+            }
+            url = dialect.url(server, command.get("--" + side + "database"), Boolean.parseBoolean(command.get("--" + side + "trusted")));
+            location = "the URL of the server " + server;
+        }
+
+        return new JdbcEndpoint(dialect, url, location, command.get("--" + side + "user"), command.get("--" + side + "password"));
+    }
+
+    Dialect dialect() {
+        return dialect;
+    }
+
+    Connection connect() throws SQLException {
+        Connection connection = dialect.driver().connect(url, properties);
+        if (connection == null) {
+            throw new SQLException("The " + dialect.name() + " driver does not accept " + location);
+        }
+        return connection;
+    }
+
+    /**
+     * Run the statements in order, on at most {@code concurrency} connections at the same time.
+     */
+    void execute(List<String> statements, int concurrency) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(Math.max(1, concurrency), statements.size()); i++) {
+                workers.add(executor.submit(() -> {
+                    try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                        int index;
+                        while ((index = next.getAndIncrement()) < statements.size()) {
+                            statement.execute(statements.get(index));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
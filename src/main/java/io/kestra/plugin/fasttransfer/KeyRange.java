@@ -0,0 +1,120 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A range of the values of a numeric key column, the unit of work of the features that split a table (partition plans,
+ * verification, range sync).
+ *
+ * @param lower inclusive lower bound, {@code null} for the first range, which also holds the {@code NULL} keys
+ * @param upper exclusive upper bound, {@code null} for the last range
+ * @param rows estimated number of rows
+ */
+record KeyRange(BigDecimal lower, BigDecimal upper, long rows) {
+    String condition(Dialect dialect, String column) {
+        String quoted = dialect.quote(column);
+        if (lower == null && upper == null) {
+            return "1 = 1";
+        }
+        if (lower == null) {
+            return quoted + " < " + upper.toPlainString() + " OR " + quoted + " IS NULL";
+        }
+        if (upper == null) {
+            return quoted + " >= " + lower.toPlainString();
+        }
+        return quoted + " >= " + lower.toPlainString() + " AND " + quoted + " < " + upper.toPlainString();
+    }
+
+    /**
+     * Split this range of the source into at most {@code count} ranges of equal width between the minimum and the
+     * maximum of the column within it; the sub-ranges cover this whole range.
+     */
+    List<KeyRange> subRanges(Connection connection, SourceQuery source, String column, int count) throws Exception {
+        List<KeyRange> ranges = new ArrayList<>(of(connection, source.where(condition(source.dialect(), column)), column, count));
+        ranges.set(0, new KeyRange(lower, ranges.getFirst().upper(), ranges.getFirst().rows()));
+        ranges.set(ranges.size() - 1, new KeyRange(ranges.getLast().lower(), upper, ranges.getLast().rows()));
+        return ranges;
+    }
+
+    /**
+     * Sort the ranges and merge the adjacent ones.
+     */
+    static List<KeyRange> merge(List<KeyRange> ranges) {
+        List<KeyRange> sorted = ranges.stream()
+            .sorted(Comparator.comparing(KeyRange::lower, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .toList();
+
+        List<KeyRange> merged = new ArrayList<>();
+        for (KeyRange range : sorted) {
+            KeyRange last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && last.upper() != null && range.lower() != null && last.upper().compareTo(range.lower()) == 0) {
+                merged.set(merged.size() - 1, new KeyRange(last.lower(), range.upper(), last.rows() + range.rows()));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Split the source into at most {@code count} ranges of equal width between the minimum and the maximum of the
+     * column.
+     */
+    static List<KeyRange> of(Connection connection, SourceQuery source, String column, int count) throws Exception {
+        Dialect dialect = source.dialect();
+        String sql = "SELECT MIN(" + dialect.quote(column) + "), MAX(" + dialect.quote(column) + "), COUNT(*) FROM (" + source.toSql() + ") kr";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            BigDecimal min = rs.getBigDecimal(1);
+            BigDecimal max = rs.getBigDecimal(2);
+            long rows = rs.getLong(3);
+            if (min == null || max == null) {
+                return List.of(new KeyRange(null, null, rows));
+            }
+            return split(min, max, rows, count);
+        }
+    }
+
+    /**
+     * Split {@code [min, max]} into at most {@code count} ranges of equal width. The first range also holds the values
+     * below {@code min} and the {@code NULL}s, the last one the values above {@code max}, so that rows written since the
+     * bounds were read are not lost.
+     */
+    static List<KeyRange> split(BigDecimal min, BigDecimal max, long rows, int count) {
+        boolean integral = min.stripTrailingZeros().scale() <= 0 && max.stripTrailingZeros().scale() <= 0;
+        BigDecimal span = max.subtract(min);
+        if (integral) {
+            // pas plus de partitions que de valeurs possibles
+            BigInteger distinct = span.toBigInteger().add(BigInteger.ONE);
+            if (distinct.compareTo(BigInteger.valueOf(count)) < 0) {
+                count = distinct.intValue();
+            }
+        } else if (span.signum() == 0) {
+            count = 1;
+        }
+
+        List<KeyRange> ranges = new ArrayList<>();
+        BigDecimal lower = null;
+        for (int i = 1; i <= count; i++) {
+            BigDecimal upper = null;
+            if (i < count) {
+                upper = integral ?
+                    min.add(span.add(BigDecimal.ONE).multiply(BigDecimal.valueOf(i)).divide(BigDecimal.valueOf(count), 0, RoundingMode.FLOOR)) :
+                    min.add(span.multiply(BigDecimal.valueOf(i)).divide(BigDecimal.valueOf(count), Math.max(min.scale(), max.scale()) + 6, RoundingMode.HALF_UP));
+            }
+            ranges.add(new KeyRange(lower, upper, rows / count + (i <= rows % count ? 1 : 0)));
+            lower = upper;
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,88 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.runners.RunContext;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the full FastTransfer transcript to a gzip file of the task working directory while the process runs, and
+ * uploads it to Kestra internal storage once the process has exited.
+ * <p>
+ * A write failure only disables the spill: the process output must keep being drained whatever happens to the file.
+ */
+final class LogSpill implements Consumer<String>, Closeable {
+    private final RunContext runContext;
+    private final Path file;
+    private Writer writer;
+
+    LogSpill(RunContext runContext) throws IOException {
+        this.runContext = runContext;
+        this.file = runContext.workingDir().createTempFile(".log.gz");
+        this.writer = new BufferedWriter(new OutputStreamWriter(
+            new GZIPOutputStream(Files.newOutputStream(file)),
+            StandardCharsets.UTF_8
+        ));
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            runContext.logger().warn("Unable to write the FastTransfer log file, the full output will not be stored", e);
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Close the file and upload it to internal storage.
+     *
+     * @return the internal storage URI of the compressed transcript, or {@code null} if it could not be written
+     */
+    synchronized URI store() throws IOException {
+        if (writer == null) {
+            return null;
+        }
+
+        writer.close();
+        writer = null;
+
+        try {
+            return runContext.storage().putFile(file.toFile());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeQuietly();
+        Files.deleteIfExists(file);
+    }
+
+    private void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // the file is discarded anyway
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the last lines printed by the FastTransfer process, bounded both in lines and in characters, so that a long
+ * or verbose transfer never retains its whole transcript.
+ */
+final class LogTail implements Consumer<String> {
+    static final int DEFAULT_MAX_LINES = 200;
+    static final int DEFAULT_MAX_CHARS = 64 * 1024;
+
+    private final int maxLines;
+    private final int maxChars;
+    private final Deque<String> lines = new ArrayDeque<>();
+    private int chars;
+
+    LogTail(int maxLines, int maxChars) {
+        this.maxLines = maxLines;
+        this.maxChars = maxChars;
+    }
+
+    LogTail() {
+        this(DEFAULT_MAX_LINES, DEFAULT_MAX_CHARS);
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        // le séparateur compte aussi, la ligne la plus récente est toujours conservée
+        if (line.length() + 1 > maxChars) {
+            line = "..." + line.substring(line.length() - (maxChars - 1) + 3);
+        }
+
+        lines.addLast(line);
+        chars += line.length() + 1;
+
+        while (lines.size() > maxLines || chars > maxChars) {
+            chars -= lines.removeFirst().length() + 1;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.join("\n", lines);
+    }
+}
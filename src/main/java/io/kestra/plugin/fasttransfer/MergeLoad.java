@@ -0,0 +1,142 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+import io.kestra.plugin.fasttransfer.dialect.KeyColumn;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A load merged into the target table: FastTransfer appends the rows to an empty stage table created next to the
+ * target, then a single set-based statement inserts the new rows into the target and updates the rows having the same
+ * key, and the stage is dropped.
+ * <p>
+ * The stage name is derived from the transfer, see {@link #transientTable}: two merges into the same target must not
+ * run at the same time.
+ */
+final class MergeLoad implements AutoCloseable {
+    static final String MODE = "Merge";
+    static final String STAGE_PREFIX = "ft_stage_";
+
+    private final JdbcEndpoint target;
+    private final String schema;
+    private final String table;
+    private final String stage;
+    private final List<String> keys;
+    private final FastTransferCommand command;
+
+    private MergeLoad(JdbcEndpoint target, String schema, String table, String stage, List<String> keys, FastTransferCommand command) {
+        this.target = target;
+        this.schema = schema;
+        this.table = table;
+        this.stage = stage;
+        this.keys = keys;
+        this.command = command;
+    }
+
+    /**
+     * Create the stage table of the target of the command.
+     *
+     * @param keys the columns matching the rows, the key of the target table when empty
+     */
+    static MergeLoad prepare(JdbcEndpoint target, FastTransferCommand command, List<String> keys) throws Exception {
+        Dialect dialect = target.dialect();
+        String schema = command.get("--targetschema");
+        String table = command.get("--targettable");
+        if (table == null) {
+            throw new IllegalArgumentException("`loadMode: Merge` requires `targetTable`");
+        }
+
+        String stage = transientTable(STAGE_PREFIX, command);
+        List<String> mergeKeys = keys;
+        try (Connection connection = target.connect()) {
+            if (mergeKeys == null || mergeKeys.isEmpty()) {
+                mergeKeys = dialect.keyColumns(connection, schema, table).stream().map(KeyColumn::name).toList();
+                if (mergeKeys.isEmpty()) {
+                    throw new IllegalArgumentException("No primary key or unique index found on " + table + ", `mergeKeyColumns` is required");
+                }
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                drop(statement, dialect.qualify(schema, stage));
+                statement.execute(dialect.createStage(dialect.qualify(schema, stage), dialect.qualify(schema, table)));
+            }
+        }
+
+        FastTransferCommand staged = command.copy()
+            .put("--targettable", stage)
+            .put("--loadmode", "Append");
+        return new MergeLoad(target, schema, table, stage, mergeKeys, staged);
+    }
+
+    /**
+     * @return the command loading the stage table
+     */
+    FastTransferCommand command() {
+        return command;
+    }
+
+    String stage() {
+        return stage;
+    }
+
+    List<String> keys() {
+        return keys;
+    }
+
+    /**
+     * Merge the stage table into the target, with the values of its identity columns loaded from the source.
+     *
+     * @return the number of rows inserted or updated, as reported by the target
+     */
+    long merge() throws Exception {
+        Dialect dialect = target.dialect();
+        String qualified = dialect.qualify(schema, table);
+        try (Connection connection = target.connect()) {
+            List<String> columns = RangeComparison.columns(connection, SourceQuery.table(dialect, schema, stage));
+            List<String> identity = dialect.identityColumns(connection, schema, table);
+            String identityInsert = identity.isEmpty() ? null : dialect.identityInsert(qualified, true);
+            try (Statement statement = connection.createStatement()) {
+                if (identityInsert != null) {
+                    statement.execute(identityInsert);
+                }
+                try {
+                    return statement.executeLargeUpdate(dialect.merge(qualified, dialect.qualify(schema, stage), columns, keys, identity));
+                } finally {
+                    if (identityInsert != null) {
+                        statement.execute(dialect.identityInsert(qualified, false));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try (Connection connection = target.connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + target.dialect().qualify(schema, stage));
+        }
+    }
+
+    /**
+     * The name of a table created next to the target for the time of a transfer, derived from the transfer so that a
+     * table left behind by a killed run is dropped by the next one.
+     */
+    static String transientTable(String prefix, FastTransferCommand command) {
+        String name = prefix + Admission.sha256(Admission.transferIdentity(command)).substring(0, 12);
+        String table = command.get("--targettable");
+        // même casse que la cible, pour les moteurs qui rangent les identifiants non quotés en majuscules
+        return table.equals(table.toUpperCase(Locale.ROOT)) ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    static void drop(Statement statement, String table) {
+        try {
+            statement.execute("DROP TABLE " + table);
+        } catch (SQLException e) {
+            // pas de table laissée par une exécution précédente
+        }
+    }
+}
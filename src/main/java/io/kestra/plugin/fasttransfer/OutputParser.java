@@ -0,0 +1,162 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recognises the progress and summary lines printed by FastTransfer, publishes them as Kestra metrics while the
+ * process runs, and accumulates the final {@link Summary} of the transfer.
+ * <p>
+ * The patterns are deliberately lenient: FastTransfer prefixes its lines with a timestamp, a run id and a level, and
+ * the wording of the messages differs slightly between versions. Unrecognised lines are ignored.
+ */
+final class OutputParser implements Consumer<String> {
+    static final String ROWS = "rows";
+    static final String ROW_DURATION = "row.duration";
+    static final String DURATION = "duration";
+
+    // FastTransfer groups the thousands with a comma or a space, never with the dot of its decimals
+    private static final String NUMBER = "(\\d{1,3}(?:[ ,\\u00a0\\u202f]\\d{3})+|\\d+)";
+
+    private static final Pattern TOTAL_ROWS = Pattern.compile("(?i)\\btotal\\s+rows?\\s*[:=]\\s*" + NUMBER);
+    private static final Pattern PARTITION_ROWS = Pattern.compile(
+        "(?i)\\b(?:thread|query|partition|stream)\\s*#?\\s*(\\d+)\\b.*?\\b(?:completed|ended|finished|done|loaded)\\b.*?" + NUMBER + "\\s*rows?\\b"
+    );
+    private static final Pattern THROUGHPUT = Pattern.compile("(?i)" + NUMBER + "(?:[.,]\\d+)?\\s*rows?\\s*(?:/|per)\\s*(?:s|sec|second)\\b");
+    private static final Pattern DEGREE = Pattern.compile("(?i)\\b(?:degree|dop)(?:\\s+of\\s+parallelism)?\\s*[:=]\\s*(\\d+)");
+    private static final Pattern METHOD = Pattern.compile("(?i)\\b(?:parallel\\s+)?method\\s*[:=]\\s*([A-Za-z]+)");
+    private static final Pattern ELAPSED = Pattern.compile("(?i)\\b(?:total\\s+)?(?:elapsed|transfer\\s+time|total\\s+time)\\s*[:=]?\\s*(?:elapsed\\s*=\\s*)?(\\d+(?:[.,]\\d+)?)\\s*(ms|s|sec|seconds)?\\b");
+
+    private final RunContext runContext;
+    private final String[] tags;
+
+    private final Map<String, Long> partitionRows = new LinkedHashMap<>();
+    private long countedRows;
+    private Long totalRows;
+    private Long elapsedMs;
+    private Long rowsPerSecond;
+    private Integer degree;
+    private String method;
+
+    /**
+     * @param tags key/value pairs added to every published metric
+     */
+    OutputParser(RunContext runContext, String... tags) {
+        this.runContext = runContext;
+        this.tags = tags;
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        Matcher matcher = TOTAL_ROWS.matcher(line);
+        if (matcher.find()) {
+            totalRows = parseLong(matcher.group(1));
+            addRows(totalRows - countedRows);
+            return;
+        }
+
+        matcher = PARTITION_ROWS.matcher(line);
+        if (matcher.find()) {
+            long rows = parseLong(matcher.group(2));
+            partitionRows.merge(matcher.group(1), rows, Long::sum);
+            addRows(rows);
+            return;
+        }
+
+        matcher = THROUGHPUT.matcher(line);
+        if (matcher.find()) {
+            rowsPerSecond = parseLong(matcher.group(1));
+            return;
+        }
+
+        matcher = DEGREE.matcher(line);
+        if (matcher.find()) {
+            degree = Integer.parseInt(matcher.group(1));
+            return;
+        }
+
+        matcher = METHOD.matcher(line);
+        if (matcher.find()) {
+            method = matcher.group(1);
+            return;
+        }
+
+        matcher = ELAPSED.matcher(line);
+        if (matcher.find()) {
+            double value = Double.parseDouble(matcher.group(1).replace(',', '.'));
+            String unit = matcher.group(2);
+            elapsedMs = Math.round(unit == null || unit.equalsIgnoreCase("ms") ? value : value * 1000);
+        }
+    }
+
+    /**
+     * Publish the duration and throughput of the run, once the process has exited. The throughput is published as the
+     * average time per row, a timer, so that the runs of a flow are averaged rather than summed.
+     *
+     * @param wallClock time measured around the process, used when FastTransfer did not report its elapsed time
+     */
+    synchronized void finish(Duration wallClock) {
+        Duration duration = elapsedMs != null ? Duration.ofMillis(elapsedMs) : wallClock;
+        runContext.metric(Timer.of(DURATION, duration, tags));
+
+        if (elapsedMs == null) {
+            elapsedMs = wallClock.toMillis();
+        }
+
+        long rows = rows();
+        if (rowsPerSecond == null && rows > 0 && duration.toMillis() > 0) {
+            rowsPerSecond = rows * 1000 / duration.toMillis();
+        }
+        if (rowsPerSecond != null && rowsPerSecond > 0) {
+            runContext.metric(Timer.of(ROW_DURATION, Duration.ofNanos(1_000_000_000L / rowsPerSecond), tags));
+        }
+    }
+
+    synchronized long rows() {
+        return totalRows != null ? totalRows : countedRows;
+    }
+
+    synchronized Summary summary() {
+        return new Summary(
+            rows(),
+            elapsedMs,
+            rowsPerSecond,
+            degree != null ? degree : (partitionRows.isEmpty() ? null : partitionRows.size()),
+            method,
+            Map.copyOf(partitionRows)
+        );
+    }
+
+    private void addRows(long delta) {
+        if (delta > 0) {
+            countedRows += delta;
+            runContext.metric(Counter.of(ROWS, delta, tags));
+        }
+    }
+
+    /**
+     * What FastTransfer reported about a finished run; values it did not print are {@code null}.
+     */
+    record Summary(
+        long totalRows,
+        Long elapsedMs,
+        Long rowsPerSecond,
+        Integer degree,
+        String method,
+        Map<String, Long> partitionRows
+    ) {
+    }
+
+    static long parseLong(String value) {
+        String digits = value.replaceAll("[^0-9]", "");
+        return digits.isEmpty() ? 0 : Long.parseLong(digits);
+    }
+}
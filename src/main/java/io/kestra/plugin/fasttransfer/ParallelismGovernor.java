@@ -0,0 +1,31 @@
+package io.kestra.plugin.fasttransfer;
+
+/**
+ * JVM-wide budget shared by every FastTransfer process started on this worker.
+ * <p>
+ * The budget defaults to one unit of degree and one process per available processor. It can be changed with the
+ * {@code fasttransfer.governor.max-degree} and {@code fasttransfer.governor.max-processes} system properties, or the
+ * {@code FASTTRANSFER_GOVERNOR_MAX_DEGREE} and {@code FASTTRANSFER_GOVERNOR_MAX_PROCESSES} environment variables;
+ * {@code 0} disables the corresponding limit.
+ */
+final class ParallelismGovernor {
+    private static final AdmissionBudget BUDGET = new AdmissionBudget(
+        limit("fasttransfer.governor.max-processes", "FASTTRANSFER_GOVERNOR_MAX_PROCESSES"),
+        limit("fasttransfer.governor.max-degree", "FASTTRANSFER_GOVERNOR_MAX_DEGREE")
+    );
+
+    private ParallelismGovernor() {
+    }
+
+    static AdmissionBudget budget() {
+        return BUDGET;
+    }
+
+    static int limit(String property, String environment) {
+        String value = System.getProperty(property, System.getenv(environment));
+        if (value == null || value.isBlank()) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,13 @@
+package io.kestra.plugin.fasttransfer;
+
+public enum PlanningMode {
+    /**
+     * Use the parallelism settings as configured.
+     */
+    MANUAL,
+
+    /**
+     * Fill the unset `degree`, `method`, `distributeKeyColumn` and `batchSize` from the source table statistics.
+     */
+    AUTO
+}
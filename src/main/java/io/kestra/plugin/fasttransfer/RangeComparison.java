@@ -0,0 +1,221 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Compares the source and the target of a transfer range by range of a numeric key column, through JDBC.
+ * <p>
+ * Each range is summarised on both sides by its row count and, when both sides run on the same engine, by an
+ * order-independent aggregate of the row hashes over the columns the transfer maps to each other, provided that the
+ * mapped columns have the same types on both sides. The ranges are read by {@code concurrency}
+ * connections on each side at the same time, so that no side waits for the other.
+ */
+final class RangeComparison {
+    private static final Set<Integer> CHARACTER_TYPES = Set.of(
+        Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.CLOB, Types.NCLOB
+    );
+
+    private final JdbcEndpoint source;
+    private final JdbcEndpoint target;
+    private final Supplier<SourceQuery> sourceQuery;
+    private final Supplier<SourceQuery> targetQuery;
+    private final String keyColumn;
+    private final int concurrency;
+    private final List<String> sourceColumns;
+    private final List<String> targetColumns;
+    private final boolean hashed;
+
+    private RangeComparison(
+        JdbcEndpoint source,
+        JdbcEndpoint target,
+        Supplier<SourceQuery> sourceQuery,
+        Supplier<SourceQuery> targetQuery,
+        String keyColumn,
+        int concurrency,
+        List<String> sourceColumns,
+        List<String> targetColumns,
+        boolean hashed
+    ) {
+        this.source = source;
+        this.target = target;
+        this.sourceQuery = sourceQuery;
+        this.targetQuery = targetQuery;
+        this.keyColumn = keyColumn;
+        this.concurrency = Math.max(1, concurrency);
+        this.sourceColumns = sourceColumns;
+        this.targetColumns = targetColumns;
+        this.hashed = hashed;
+    }
+
+    /**
+     * @param sourceQuery a new query over the source at each call, as each range restricts it
+     * @param targetQuery a new query over the target at each call
+     * @param mapMethod the FastTransfer method mapping the source columns to the target columns, Position when {@code null}
+     */
+    static RangeComparison prepare(
+        JdbcEndpoint source,
+        Supplier<SourceQuery> sourceQuery,
+        JdbcEndpoint target,
+        Supplier<SourceQuery> targetQuery,
+        String keyColumn,
+        int concurrency,
+        String mapMethod
+    ) throws Exception {
+        List<Column> sourceColumns;
+        try (Connection connection = source.connect()) {
+            sourceColumns = describe(connection, sourceQuery.get());
+        }
+        List<Column> targetColumns;
+        try (Connection connection = target.connect()) {
+            targetColumns = describe(connection, targetQuery.get());
+        }
+
+        // les colonnes hachées sont appariées comme le binaire les associe
+        List<Column> mappedSource = new ArrayList<>();
+        List<Column> mappedTarget = new ArrayList<>();
+        if ("Name".equalsIgnoreCase(mapMethod)) {
+            for (Column column : sourceColumns) {
+                targetColumns.stream().filter(other -> other.name().equalsIgnoreCase(column.name())).findFirst().ifPresent(other -> {
+                    mappedSource.add(column);
+                    mappedTarget.add(other);
+                });
+            }
+        } else {
+            mappedSource.addAll(sourceColumns.subList(0, Math.min(sourceColumns.size(), targetColumns.size())));
+            mappedTarget.addAll(targetColumns.subList(0, mappedSource.size()));
+        }
+
+        List<String> hashedSource = mappedSource.stream().map(Column::name).toList();
+        List<String> hashedTarget = mappedTarget.stream().map(Column::name).toList();
+        boolean hashed = source.dialect().getClass().equals(target.dialect().getClass()) &&
+            !mappedSource.isEmpty() &&
+            mappedSource.stream().map(Column::type).toList().equals(mappedTarget.stream().map(Column::type).toList()) &&
+            source.dialect().rowHashAggregate(hashedSource) != null;
+        return new RangeComparison(source, target, sourceQuery, targetQuery, keyColumn, concurrency, hashedSource, hashedTarget, hashed);
+    }
+
+    boolean hashed() {
+        return hashed;
+    }
+
+    /**
+     * Split the key of the source into at most {@code count} ranges of equal width.
+     */
+    List<KeyRange> ranges(int count) throws Exception {
+        try (Connection connection = source.connect()) {
+            return KeyRange.of(connection, sourceQuery.get(), keyColumn, count);
+        }
+    }
+
+    /**
+     * Split a range into at most {@code count} sub-ranges covering it, from the key values of the source within it.
+     */
+    List<KeyRange> subRanges(KeyRange range, int count) throws Exception {
+        try (Connection connection = source.connect()) {
+            return range.subRanges(connection, sourceQuery.get(), keyColumn, count);
+        }
+    }
+
+    List<Result> compare(List<KeyRange> ranges) throws Exception {
+        Checksum[] sourceChecksums = new Checksum[ranges.size()];
+        Checksum[] targetChecksums = new Checksum[ranges.size()];
+        AtomicInteger nextSource = new AtomicInteger();
+        AtomicInteger nextTarget = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(concurrency, ranges.size()); i++) {
+                workers.add(executor.submit(() -> checksums(source, sourceQuery, sourceColumns, ranges, nextSource, sourceChecksums)));
+                workers.add(executor.submit(() -> checksums(target, targetQuery, targetColumns, ranges, nextTarget, targetChecksums)));
+            }
+
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            results.add(new Result(ranges.get(i), sourceChecksums[i], targetChecksums[i]));
+        }
+        return results;
+    }
+
+    private Void checksums(
+        JdbcEndpoint endpoint,
+        Supplier<SourceQuery> query,
+        List<String> columns,
+        List<KeyRange> ranges,
+        AtomicInteger next,
+        Checksum[] checksums
+    ) throws Exception {
+        try (Connection connection = endpoint.connect()) {
+            int index;
+            while ((index = next.getAndIncrement()) < ranges.size()) {
+                SourceQuery restricted = query.get();
+                checksums[index] = checksum(connection, restricted.where(ranges.get(index).condition(restricted.dialect(), keyColumn)), columns);
+            }
+        }
+        return null;
+    }
+
+    private Checksum checksum(Connection connection, SourceQuery query, List<String> columns) throws Exception {
+        String sql = "SELECT COUNT(*)" + (hashed ? ", " + query.dialect().rowHashAggregate(columns) : "") + " FROM (" + query.toSql() + ") rc";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            Object hash = hashed ? rs.getObject(2) : null;
+            return new Checksum(rs.getLong(1), hash == null ? null : String.valueOf(hash));
+        }
+    }
+
+    static List<String> columns(Connection connection, SourceQuery query) throws Exception {
+        return describe(connection, query).stream().map(Column::name).toList();
+    }
+
+    private static List<Column> describe(Connection connection, SourceQuery query) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM (" + query.toSql() + ") c WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<Column> columns = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                // la longueur déclarée d'une chaîne ne change pas son hachage, la précision d'un nombre peut le changer
+                String type = metaData.getColumnTypeName(i) +
+                    (CHARACTER_TYPES.contains(metaData.getColumnType(i)) ? "" : "(" + metaData.getPrecision(i) + "," + metaData.getScale(i) + ")");
+                columns.add(new Column(metaData.getColumnName(i), type));
+            }
+            return columns;
+        }
+    }
+
+    private record Column(String name, String type) {
+    }
+
+    /**
+     * @param hash order-independent hash of the rows, {@code null} when only the rows are counted
+     */
+    record Checksum(long rows, String hash) {
+    }
+
+    record Result(KeyRange range, Checksum source, Checksum target) {
+        boolean matches() {
+            return Objects.equals(source, target);
+        }
+    }
+}
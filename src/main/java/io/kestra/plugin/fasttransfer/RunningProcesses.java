@@ -0,0 +1,80 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the FastTransfer processes started by a task run so that a kill request can terminate them, together with
+ * every process they spawned.
+ */
+final class RunningProcesses {
+    static final Duration DEFAULT_GRACE_PERIOD = Duration.ofSeconds(10);
+
+    private final Set<Process> processes = ConcurrentHashMap.newKeySet();
+    private volatile Duration gracePeriod = DEFAULT_GRACE_PERIOD;
+    private volatile boolean killed;
+
+    void gracePeriod(Duration gracePeriod) {
+        this.gracePeriod = gracePeriod;
+    }
+
+    Duration gracePeriod() {
+        return gracePeriod;
+    }
+
+    boolean isKilled() {
+        return killed;
+    }
+
+    void register(Process process) {
+        processes.add(process);
+        if (killed) {
+            terminate(process.toHandle(), gracePeriod);
+        }
+    }
+
+    void unregister(Process process) {
+        processes.remove(process);
+    }
+
+    /**
+     * Terminate every registered process tree: first gracefully, then forcibly once the grace period has elapsed.
+     */
+    void kill() {
+        killed = true;
+        // one virtual thread per tree: waiting for the grace period must not hold the threads of the common pool
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Process process : processes) {
+                executor.execute(() -> terminate(process.toHandle(), gracePeriod));
+            }
+        }
+    }
+
+    static void terminate(ProcessHandle root, Duration gracePeriod) {
+        // descendants are captured first: once the root is gone they are re-parented and no longer reachable
+        List<ProcessHandle> tree = new ArrayList<>(root.descendants().toList());
+        tree.add(root);
+
+        tree.forEach(ProcessHandle::destroy);
+
+        CompletableFuture<?>[] exits = tree.stream().map(ProcessHandle::onExit).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(exits).get(gracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // fall through to the forcible termination
+        }
+
+        tree.stream().filter(ProcessHandle::isAlive).forEach(ProcessHandle::destroyForcibly);
+    }
+}
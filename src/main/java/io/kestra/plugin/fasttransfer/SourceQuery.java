@@ -0,0 +1,109 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code SELECT} over the source table, or over a user query, restricted and ordered by the features that generate
+ * the FastTransfer {@code --query} (partition plans, watermarks...).
+ */
+final class SourceQuery {
+    private final Dialect dialect;
+    private final String from;
+    private final List<String> columns = new ArrayList<>();
+    private final List<String> conditions = new ArrayList<>();
+    private final List<String> orderBy = new ArrayList<>();
+
+    private SourceQuery(Dialect dialect, String from) {
+        this.dialect = dialect;
+        this.from = from;
+    }
+
+    static SourceQuery table(Dialect dialect, String schema, String table) {
+        return new SourceQuery(dialect, dialect.qualify(schema, table));
+    }
+
+    static SourceQuery query(Dialect dialect, String query) {
+        return new SourceQuery(dialect, "(" + query + ") src");
+    }
+
+    /**
+     * The query of the command's source: its {@code --query} when set, else its {@code --sourceschema} and
+     * {@code --sourcetable}.
+     */
+    static SourceQuery of(Dialect dialect, FastTransferCommand command) {
+        String query = command.get("--query");
+        if (query != null) {
+            return query(dialect, query);
+        }
+
+        String table = command.get("--sourcetable");
+        if (table == null) {
+            throw new IllegalArgumentException("`sourceTable` or `query` is required");
+        }
+        return table(dialect, command.get("--sourceschema"), table);
+    }
+
+    /**
+     * The source columns a transfer loads into the target columns: with {@code mapMethod} Name the source columns named
+     * as a target column, otherwise the first source columns, one per target column.
+     */
+    static List<String> projection(List<String> sourceColumns, List<String> targetColumns, String mapMethod) {
+        if ("Name".equalsIgnoreCase(mapMethod)) {
+            return sourceColumns.stream().filter(column -> targetColumns.stream().anyMatch(column::equalsIgnoreCase)).toList();
+        }
+        return sourceColumns.subList(0, Math.min(sourceColumns.size(), targetColumns.size()));
+    }
+
+    Dialect dialect() {
+        return dialect;
+    }
+
+    /**
+     * Select the given columns instead of all of them.
+     */
+    SourceQuery select(List<String> names) {
+        names.forEach(name -> columns.add(dialect.quote(name)));
+        return this;
+    }
+
+    /**
+     * Add a condition, combined with the others by {@code AND}.
+     */
+    SourceQuery where(String condition) {
+        conditions.add("(" + condition + ")");
+        return this;
+    }
+
+    SourceQuery orderBy(String column) {
+        orderBy.add(dialect.quote(column));
+        return this;
+    }
+
+    String toSql() {
+        StringBuilder sql = new StringBuilder("SELECT ")
+            .append(columns.isEmpty() ? "*" : String.join(", ", columns))
+            .append(" FROM ").append(from);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (!orderBy.isEmpty()) {
+            sql.append(" ORDER BY ").append(String.join(", ", orderBy));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Make the command read this query instead of its source table.
+     */
+    FastTransferCommand applyTo(FastTransferCommand command) {
+        return command.replaceSource(toSql());
+    }
+
+    @Override
+    public String toString() {
+        return toSql();
+    }
+}
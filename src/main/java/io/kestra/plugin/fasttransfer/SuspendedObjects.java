@@ -0,0 +1,124 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.fasttransfer.dialect.TableObject;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The indexes, foreign keys and triggers of a target table suspended for the time of a load, see
+ * {@link io.kestra.plugin.fasttransfer.dialect.Dialect#suspendable}.
+ * <p>
+ * The statements restoring them are recorded in the KV store of the flow namespace before they are suspended, and
+ * only removed once they are restored: when the worker stops during a load the objects stay suspended, and the next run
+ * restores them with its own.
+ */
+final class SuspendedObjects {
+    static final String KEY_PREFIX = "fasttransfer.suspended.";
+
+    private final KVStore store;
+    private final String key;
+    private final JdbcEndpoint target;
+    private final String schema;
+    private final String table;
+    private final List<TableObject> objects;
+
+    private SuspendedObjects(KVStore store, String key, JdbcEndpoint target, String schema, String table, List<TableObject> objects) {
+        this.store = store;
+        this.key = key;
+        this.target = target;
+        this.schema = schema;
+        this.table = table;
+        this.objects = objects;
+    }
+
+    /**
+     * Record, then suspend, the active objects of the given kinds on the target table of the command.
+     */
+    static SuspendedObjects suspend(RunContext runContext, JdbcEndpoint target, FastTransferCommand command, Set<TableObject.Kind> kinds) throws Exception {
+        return suspend(runContext.namespaceKv(runContext.flowInfo().namespace()), target, command, kinds);
+    }
+
+    static SuspendedObjects suspend(KVStore store, JdbcEndpoint target, FastTransferCommand command, Set<TableObject.Kind> kinds) throws Exception {
+        String schema = command.get("--targetschema");
+        String table = command.get("--targettable");
+        String key = KEY_PREFIX + Admission.sha256(Admission.targetIdentity(command) + "/" + Admission.table(command, "target")).substring(0, 16);
+
+        // les objets d'une exécution précédente en échec sont encore suspendus, ils ne sont plus listés par le catalogue
+        List<TableObject> objects = new ArrayList<>(recorded(store, key));
+        List<TableObject> active;
+        try (Connection connection = target.connect()) {
+            active = target.dialect().suspendable(connection, schema, table, kinds);
+        }
+        for (TableObject object : active) {
+            if (objects.stream().noneMatch(recorded -> recorded.kind() == object.kind() && recorded.name().equals(object.name()))) {
+                objects.add(object);
+            }
+        }
+
+        record(store, key, objects);
+        target.execute(active.stream().map(TableObject::suspend).toList(), 1);
+        return new SuspendedObjects(store, key, target, schema, table, objects);
+    }
+
+    String key() {
+        return key;
+    }
+
+    List<TableObject> objects() {
+        return objects;
+    }
+
+    /**
+     * Restore the objects kind by kind, the indexes at most {@code concurrency} at a time, refresh the statistics of
+     * the table, then forget the objects.
+     */
+    void restore(int concurrency) throws Exception {
+        for (TableObject.Kind kind : TableObject.Kind.values()) {
+            List<String> statements = objects.stream().filter(object -> object.kind() == kind).map(TableObject::restore).toList();
+            target.execute(statements, kind == TableObject.Kind.INDEX ? concurrency : 1);
+        }
+
+        String statistics = target.dialect().refreshStatistics(schema, table);
+        if (statistics != null) {
+            target.execute(List.of(statistics), 1);
+        }
+
+        store.delete(key);
+    }
+
+    private static List<TableObject> recorded(KVStore store, String key) throws Exception {
+        Optional<KVValue> stored = store.getValue(key);
+        List<TableObject> objects = new ArrayList<>();
+        if (stored.isPresent() && stored.get().value() instanceof Map<?, ?> value && value.get("objects") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> object) {
+                    objects.add(new TableObject(
+                        TableObject.Kind.valueOf(String.valueOf(object.get("kind"))),
+                        String.valueOf(object.get("name")),
+                        String.valueOf(object.get("suspend")),
+                        String.valueOf(object.get("restore"))
+                    ));
+                }
+            }
+        }
+        return objects;
+    }
+
+    private static void record(KVStore store, String key, List<TableObject> objects) throws Exception {
+        List<Map<String, String>> value = objects.stream()
+            .map(object -> Map.of("kind", object.kind().name(), "name", object.name(), "suspend", object.suspend(), "restore", object.restore()))
+            .toList();
+        store.put(key, new KVValueAndMetadata(new KVMetadata((Duration) null), Map.of("objects", value)));
+    }
+}
@@ -0,0 +1,131 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * A load swapped into the target table: FastTransfer appends the rows to an empty shadow table with the structure of
+ * the target, the indexes missing on the shadow are built, several at a time, then one transaction gives the target
+ * the rows of the shadow and drops the previous rows. Readers see the previous rows until the swap, never a partial
+ * load, and the load does not contend with them.
+ * <p>
+ * The shadow name is derived from the transfer, see {@link MergeLoad#transientTable}: two swaps into the same target
+ * must not run at the same time. A target the swap would fail on, or break, is rejected before the load, see
+ * {@link Dialect#swapBlockers}.
+ */
+final class SwapLoad implements AutoCloseable {
+    static final String MODE = "Swap";
+    static final String SHADOW_PREFIX = "ft_shadow_";
+
+    private final JdbcEndpoint target;
+    private final String schema;
+    private final String table;
+    private final String shadow;
+    private final FastTransferCommand command;
+    private boolean swapped;
+
+    private SwapLoad(JdbcEndpoint target, String schema, String table, String shadow, FastTransferCommand command) {
+        this.target = target;
+        this.schema = schema;
+        this.table = table;
+        this.shadow = shadow;
+        this.command = command;
+    }
+
+    /**
+     * Create the shadow table of the target of the command.
+     */
+    static SwapLoad prepare(JdbcEndpoint target, FastTransferCommand command) throws Exception {
+        Dialect dialect = target.dialect();
+        String schema = command.get("--targetschema");
+        String table = command.get("--targettable");
+        if (table == null) {
+            throw new IllegalArgumentException("`loadMode: Swap` requires `targetTable`");
+        }
+
+        String shadow = MergeLoad.transientTable(SHADOW_PREFIX, command);
+        if (dialect.swap(schema, table, shadow).isEmpty()) {
+            throw new IllegalArgumentException("`loadMode: Swap` is not supported on " + dialect.name());
+        }
+
+        try (Connection connection = target.connect(); Statement statement = connection.createStatement()) {
+            List<String> blockers = dialect.swapBlockers(connection, schema, table);
+            if (!blockers.isEmpty()) {
+                throw new IllegalArgumentException("`loadMode: Swap` cannot replace " + table + ", because of its " + String.join(", ", blockers));
+            }
+
+            MergeLoad.drop(statement, dialect.qualify(schema, shadow));
+            statement.execute(dialect.createShadow(dialect.qualify(schema, shadow), dialect.qualify(schema, table)));
+        }
+
+        FastTransferCommand shadowed = command.copy()
+            .put("--targettable", shadow)
+            .put("--loadmode", "Append");
+        return new SwapLoad(target, schema, table, shadow, shadowed);
+    }
+
+    /**
+     * @return the command loading the shadow table
+     */
+    FastTransferCommand command() {
+        return command;
+    }
+
+    String shadow() {
+        return shadow;
+    }
+
+    /**
+     * Build on the shadow the indexes of the target it lacks, at most {@code concurrency} of them at the same time.
+     *
+     * @return the number of indexes built
+     */
+    int buildIndexes(int concurrency) throws Exception {
+        List<List<String>> waves;
+        try (Connection connection = target.connect()) {
+            waves = target.dialect().shadowIndexes(connection, schema, table, target.dialect().qualify(schema, shadow));
+        }
+
+        int built = 0;
+        for (List<String> wave : waves) {
+            target.execute(wave, concurrency);
+            built += wave.size();
+        }
+        return built;
+    }
+
+    /**
+     * Give the target the rows of the shadow and drop the previous rows, in one transaction.
+     */
+    void swap() throws Exception {
+        Dialect dialect = target.dialect();
+        try (Connection connection = target.connect()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : dialect.swap(schema, table, shadow)) {
+                    statement.execute(sql);
+                }
+                statement.execute("DROP TABLE " + dialect.qualify(schema, shadow));
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        swapped = true;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (swapped) {
+            return;
+        }
+
+        try (Connection connection = target.connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + target.dialect().qualify(schema, shadow));
+        }
+    }
+}
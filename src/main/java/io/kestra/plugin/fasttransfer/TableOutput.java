@@ -0,0 +1,56 @@
+package io.kestra.plugin.fasttransfer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.net.URI;
+
+/**
+ * Result of one of the transfers run by a multi-table task.
+ */
+@Builder
+@Getter
+public class TableOutput {
+    @Schema(title = "Name of the transfer", description = "The target table, or the window of a backfill")
+    private final String name;
+
+    @Schema(title = "Exit code", description = "Exit code of the FastTransfer process, empty if it could not be started")
+    private final Integer exitCode;
+
+    @Schema(title = "Error", description = "Why the process could not be started")
+    private final String error;
+
+    @Schema(title = "Total rows")
+    private final Long totalRows;
+
+    @Schema(title = "Elapsed time in milliseconds")
+    private final Long elapsedMs;
+
+    @Schema(title = "Throughput in rows per second")
+    private final Long rowsPerSecond;
+
+    @Schema(title = "Last lines printed by the FastTransfer binary")
+    private final String logs;
+
+    @Schema(title = "Full console output", description = "URI of the gzip-compressed full output in Kestra internal storage")
+    private final URI logsUri;
+
+    @JsonIgnore
+    public boolean isFailed() {
+        return exitCode == null || exitCode != 0;
+    }
+
+    static TableOutput of(String name, AbstractFastTransfer.TransferResult result) {
+        return TableOutput.builder()
+            .name(name)
+            .exitCode(result.exitCode())
+            .totalRows(result.summary().totalRows())
+            .elapsedMs(result.summary().elapsedMs())
+            .rowsPerSecond(result.summary().rowsPerSecond())
+            .logs(result.logs())
+            .logsUri(result.logsUri())
+            .build();
+    }
+}
@@ -0,0 +1,77 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.KeyColumn;
+import io.kestra.plugin.fasttransfer.dialect.TableStatistics;
+
+import java.util.List;
+
+/**
+ * Cost model choosing the parallelism settings of a transfer from the statistics of its source table.
+ * <p>
+ * Small tables are read by a single stream, as splitting them costs more than it saves. Larger tables get one stream
+ * per {@link #BYTES_PER_STREAM}, split on a numeric key by range, or else on the physical row location, or else on a
+ * non-numeric key by ntile. The batch size targets {@link #BATCH_BYTES} per batch given the average row width.
+ */
+final class TransferPlanner {
+    static final long SMALL_ROWS = 1_000_000;
+    static final long SMALL_BYTES = 256L * 1024 * 1024;
+    static final long BYTES_PER_STREAM = 1024L * 1024 * 1024;
+    static final long BATCH_BYTES = 64L * 1024 * 1024;
+    static final int MIN_BATCH_SIZE = 8_192;
+    static final int MAX_BATCH_SIZE = 1_048_576;
+    static final int DEFAULT_ROW_WIDTH = 100;
+
+    private TransferPlanner() {
+    }
+
+    record Plan(int degree, String method, String distributeKeyColumn, int batchSize) {
+    }
+
+    static Plan plan(TableStatistics statistics, List<KeyColumn> keys, String keylessMethod, int maxDegree) {
+        long rows = Math.max(statistics.rows(), 0);
+        long rowWidth = rows > 0 && statistics.bytes() > 0 ? Math.max(1, statistics.bytes() / rows) : DEFAULT_ROW_WIDTH;
+        long bytes = statistics.bytes() > 0 ? statistics.bytes() : rows * rowWidth;
+
+        int batchSize = (int) Math.min(MAX_BATCH_SIZE, Math.max(MIN_BATCH_SIZE, Long.highestOneBit(BATCH_BYTES / rowWidth)));
+
+        if (rows < SMALL_ROWS && bytes < SMALL_BYTES || maxDegree <= 1) {
+            return new Plan(1, "None", null, batchSize);
+        }
+
+        int degree = (int) Math.max(2, Math.min(maxDegree, (bytes + BYTES_PER_STREAM - 1) / BYTES_PER_STREAM));
+
+        KeyColumn key = keys.isEmpty() ? null : keys.getFirst();
+        if (key != null && key.numeric()) {
+            return new Plan(degree, "RangeId", key.name(), batchSize);
+        }
+        if (keylessMethod != null) {
+            return new Plan(degree, keylessMethod, null, batchSize);
+        }
+        if (key != null) {
+            return new Plan(degree, "Ntile", key.name(), batchSize);
+        }
+
+        return new Plan(1, "None", null, batchSize);
+    }
+
+    /**
+     * Fill the parallelism settings the user left unset.
+     *
+     * @param batchSize whether the batch size is filled too
+     */
+    static void apply(Plan plan, FastTransferCommand command, boolean batchSize) {
+        boolean methodSet = command.get(FastTransferCommand.METHOD) != null;
+        if (command.get(FastTransferCommand.DEGREE) == null) {
+            command.put(FastTransferCommand.DEGREE, String.valueOf(plan.degree()));
+        }
+        if (!methodSet) {
+            command.put(FastTransferCommand.METHOD, plan.method());
+            if (command.get("--distributekeycolumn") == null) {
+                command.put("--distributekeycolumn", plan.distributeKeyColumn());
+            }
+        }
+        if (batchSize && command.get("--batchsize") == null) {
+            command.put("--batchsize", String.valueOf(plan.batchSize()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of the range by range comparison of the source and the target of a transfer.
+ */
+@Builder
+@Getter
+public class VerificationOutput implements io.kestra.core.models.tasks.Output {
+    @Schema(title = "Key column the ranges are taken on")
+    private final String keyColumn;
+
+    @Schema(title = "Number of ranges compared")
+    private final Integer ranges;
+
+    @Schema(title = "Whether row hashes were compared", description = "Only the row counts are compared when the source and the target run on different engines")
+    private final Boolean hashed;
+
+    @Schema(title = "Rows of the source")
+    private final Long sourceRows;
+
+    @Schema(title = "Rows of the target")
+    private final Long targetRows;
+
+    @Schema(title = "Ranges that differ")
+    private final List<Mismatch> mismatches;
+
+    @Builder
+    @Getter
+    public static class Mismatch {
+        @Schema(title = "Inclusive lower bound of the range, empty for the first one")
+        private final BigDecimal lower;
+
+        @Schema(title = "Exclusive upper bound of the range, empty for the last one")
+        private final BigDecimal upper;
+
+        private final Long sourceRows;
+
+        private final Long targetRows;
+
+        private final String sourceHash;
+
+        private final String targetHash;
+
+        static Mismatch of(RangeComparison.Result result) {
+            return Mismatch.builder()
+                .lower(result.range().lower())
+                .upper(result.range().upper())
+                .sourceRows(result.source().rows())
+                .targetRows(result.target().rows())
+                .sourceHash(result.source().hash())
+                .targetHash(result.target().hash())
+                .build();
+        }
+    }
+}
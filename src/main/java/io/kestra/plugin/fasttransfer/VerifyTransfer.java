@@ -0,0 +1,98 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Compare the source and the target of a transfer range by range.",
+    description = "This task splits a numeric key of the source into ranges of equal width and compares each range on both sides through JDBC, " +
+        "several ranges at a time on each side. The row counts are always compared. When the source and the target run on the same engine, " +
+        "an order-independent aggregate of the row hashes is compared as well. No row is moved, so the check is affordable after every load."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Check that a Truncate load of lineitem is complete",
+            code = {
+                "sourceConnectionType: pgsql",
+                "sourceServer: localhost:5432",
+                "sourceUser: FastTransfer_Login",
+                "sourcePassword: FastPassword",
+                "sourceDatabase: tpch",
+                "sourceSchema: public",
+                "sourceTable: lineitem",
+                "targetConnectionType: pgcopy",
+                "targetServer: localhost:15432",
+                "targetUser: FastTransfer_Login",
+                "targetPassword: FastPassword",
+                "targetDatabase: tpch",
+                "targetSchema: public",
+                "targetTable: lineitem",
+                "keyColumn: l_orderkey",
+                "ranges: 64",
+                "concurrency: 8"
+            }
+        )
+    }
+)
+public class VerifyTransfer extends AbstractConnections implements RunnableTask<VerificationOutput> {
+    @Schema(title = "Source table", description = "Source table name")
+    private Property<String> sourceTable;
+
+    @Schema(title = "SQL query", description = "Query whose result is compared with the target instead of `sourceTable`")
+    private Property<String> query;
+
+    @Schema(title = "Target table", description = "Target table name")
+    @NotNull
+    private Property<String> targetTable;
+
+    @Schema(title = "Key column", description = "Numeric column the ranges are taken on, present on both sides. Defaults to the first numeric column of the primary key of `sourceTable`.")
+    private Property<String> keyColumn;
+
+    @Schema(title = "Number of ranges")
+    @Builder.Default
+    private Property<Integer> ranges = Property.of(16);
+
+    @Schema(title = "Concurrency", description = "Number of ranges read at the same time on each side.")
+    @Builder.Default
+    private Property<Integer> concurrency = Property.of(4);
+
+    @Schema(title = "Fail on mismatch", description = "Fail the task when a range differs, instead of only reporting it.")
+    @Builder.Default
+    private Property<Boolean> failOnMismatch = Property.of(true);
+
+    @Override
+    public VerificationOutput run(RunContext runContext) throws Exception {
+        FastTransferCommand command = renderCommand(runContext)
+            .put("--sourcetable", runContext.render(sourceTable).as(String.class).orElse(null))
+            .put("--query", runContext.render(query).as(String.class).orElse(null))
+            .put("--targettable", runContext.render(targetTable).as(String.class).orElseThrow());
+
+        VerificationOutput verification = verify(
+            runContext,
+            command,
+            runContext.render(keyColumn).as(String.class).orElse(null),
+            Math.max(1, runContext.render(ranges).as(Integer.class).orElse(16)),
+            Math.max(1, runContext.render(concurrency).as(Integer.class).orElse(4))
+        );
+
+        if (!verification.getMismatches().isEmpty() && runContext.render(failOnMismatch).as(Boolean.class).orElse(true)) {
+            throw new RuntimeException(verification.getMismatches().size() + " of " + verification.getRanges() + " ranges of " +
+                command.get("--targettable") + " differ from the source");
+        }
+
+        return verification;
+    }
+}
@@ -0,0 +1,96 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The high-water mark of an incremental transfer, kept in the KV store of the flow namespace as the SQL literal of the
+ * greatest value of the watermark column already transferred.
+ * <p>
+ * The upper bound of a run is read before the transfer starts, so that rows written during the transfer are picked up
+ * by the next run, and the mark only moves once the transfer succeeded.
+ */
+final class Watermark {
+    static final String KEY_PREFIX = "fasttransfer.watermark.";
+
+    private final KVStore store;
+    private final String key;
+    private final String column;
+
+    private Watermark(KVStore store, String key, String column) {
+        this.store = store;
+        this.key = key;
+        this.column = column;
+    }
+
+    /**
+     * @param key the KV key, derived from the source and target tables and the column when {@code null}
+     */
+    static Watermark of(RunContext runContext, FastTransferCommand command, String column, String key) {
+        return of(runContext.namespaceKv(runContext.flowInfo().namespace()), command, column, key);
+    }
+
+    static Watermark of(KVStore store, FastTransferCommand command, String column, String key) {
+        return new Watermark(
+            store,
+            key != null ? key : KEY_PREFIX + Admission.sha256(Admission.transferIdentity(command) + "#" + column).substring(0, 16),
+            column
+        );
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * @return the literal of the last transferred value, empty before the first successful run
+     */
+    Optional<String> last() throws Exception {
+        Optional<KVValue> stored = store.getValue(key);
+        if (stored.isPresent() && stored.get().value() instanceof Map<?, ?> value && value.get("value") instanceof String literal) {
+            return Optional.of(literal);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the literal of the greatest value of the column in the source, empty when it has no row
+     */
+    Optional<String> high(Connection connection, SourceQuery source) throws Exception {
+        String sql = "SELECT MAX(" + source.dialect().quote(column) + ") FROM (" + source.toSql() + ") hwm";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            Object value = rs.getObject(1);
+            return value == null ? Optional.empty() : Optional.of(source.dialect().literal(value));
+        }
+    }
+
+    /**
+     * Restrict the source to the rows after {@code lower}, all of them when it is {@code null}.
+     */
+    SourceQuery after(SourceQuery source, String lower) {
+        return lower == null ? source : source.where(source.dialect().quote(column) + " > " + lower);
+    }
+
+    SourceQuery upTo(SourceQuery source, String upper) {
+        return source.where(source.dialect().quote(column) + " <= " + upper);
+    }
+
+    void advance(String literal) throws Exception {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("column", column);
+        value.put("value", literal);
+        store.put(key, new KVValueAndMetadata(new KVMetadata((Duration) null), value));
+    }
+}
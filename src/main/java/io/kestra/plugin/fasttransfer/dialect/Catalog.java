@@ -0,0 +1,97 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Helpers to run the catalog queries of the dialects.
+ */
+final class Catalog {
+    private static final Set<Integer> NUMERIC_TYPES = Set.of(
+        Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.NUMERIC, Types.DECIMAL
+    );
+
+    private Catalog() {
+    }
+
+    /**
+     * Read the primary key, or else the first unique index, of a table from the JDBC metadata.
+     */
+    static List<KeyColumn> keyColumns(Connection connection, Dialect dialect, String schema, String table) throws SQLException {
+        DatabaseMetaData metadata = connection.getMetaData();
+        String catalog = dialect.schemasAreCatalogs() ? schema : null;
+        String jdbcSchema = dialect.schemasAreCatalogs() ? null : schema;
+
+        Map<String, Boolean> numeric = new HashMap<>();
+        try (ResultSet rs = metadata.getColumns(catalog, jdbcSchema, table, null)) {
+            while (rs.next()) {
+                numeric.put(rs.getString("COLUMN_NAME"), NUMERIC_TYPES.contains(rs.getInt("DATA_TYPE")));
+            }
+        }
+
+        TreeMap<Short, String> columns = new TreeMap<>();
+        try (ResultSet rs = metadata.getPrimaryKeys(catalog, jdbcSchema, table)) {
+            while (rs.next()) {
+                columns.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        }
+
+        if (columns.isEmpty()) {
+            try (ResultSet rs = metadata.getIndexInfo(catalog, jdbcSchema, table, true, true)) {
+                String index = null;
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (name == null || column == null || (index != null && !index.equals(name))) {
+                        continue;
+                    }
+                    index = name;
+                    columns.put(rs.getShort("ORDINAL_POSITION"), column);
+                }
+            }
+        }
+
+        return columns.values().stream()
+            .map(column -> new KeyColumn(column, numeric.getOrDefault(column, false)))
+            .toList();
+    }
+
+    /**
+     * Run a query bound to the given parameters, returning the columns of each row as strings.
+     */
+    static List<List<String>> rows(Connection connection, String sql, String... parameters) throws SQLException {
+        List<List<String>> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                int count = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    List<String> row = new ArrayList<>();
+                    for (int i = 1; i <= count; i++) {
+                        row.add(rs.getString(i));
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Run a query returning {@code schema, table, rows, bytes} for the schema bound as its single parameter.
+     */
+    static List<TableStatistics> tables(Connection connection, String sql, String schema) throws SQLException {
+        List<TableStatistics> tables = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, schema);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(new TableStatistics(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4)));
+                }
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,231 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Database specific SQL used by the tasks that inspect or prepare the source and target of a transfer through JDBC.
+ * <p>
+ * Implementations are discovered with {@link ServiceLoader} and matched against the FastTransfer connection type
+ * (e.g. {@code mssql}, {@code msbulk}, {@code pgcopy}).
+ */
+public interface Dialect {
+    /**
+     * @return a short name of the database engine, used in messages
+     */
+    String name();
+
+    /**
+     * @return whether this dialect handles the given FastTransfer source or target connection type
+     */
+    boolean supports(String connectionType);
+
+    /**
+     * @throws IllegalStateException when the driver is not on the classpath of the Kestra instance
+     */
+    Driver driver();
+
+    /**
+     * Build a JDBC URL from the FastTransfer {@code server} and {@code database} settings.
+     */
+    String url(String server, String database, boolean trusted);
+
+    default String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    default String qualify(String schema, String table) {
+        return schema == null || schema.isEmpty() ? quote(table) : quote(schema) + "." + quote(table);
+    }
+
+    /**
+     * Render a value read through JDBC as a SQL literal, to restrict a generated query.
+     */
+    default String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof Timestamp || value instanceof LocalDateTime || value instanceof OffsetDateTime) {
+            return "TIMESTAMP '" + value.toString().replace('T', ' ') + "'";
+        }
+        if (value instanceof Date || value instanceof LocalDate) {
+            return "DATE '" + value + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    /**
+     * An aggregate expression hashing the given columns of every row into a value that does not depend on the order of
+     * the rows, comparable between two tables of the same engine; {@code null} if the engine has none.
+     */
+    default String rowHashAggregate(List<String> columns) {
+        return null;
+    }
+
+    /**
+     * A statement creating the empty table {@code stage} with the columns of {@code table}, both qualified, to load the
+     * rows of a merge into.
+     */
+    default String createStage(String stage, String table) {
+        return "CREATE TABLE " + stage + " AS SELECT * FROM " + table + " WHERE 1 = 0";
+    }
+
+    /**
+     * A statement inserting the rows of {@code stage} into {@code table}, both qualified, and updating the rows of
+     * {@code table} having the same {@code keys} instead. The {@code identity} columns are inserted but never updated.
+     */
+    default String merge(String table, String stage, List<String> columns, List<String> keys, List<String> identity) {
+        List<String> updated = columns.stream()
+            .filter(column -> keys.stream().noneMatch(column::equalsIgnoreCase) && identity.stream().noneMatch(column::equalsIgnoreCase))
+            .toList();
+        return "MERGE INTO " + table + " t USING " + stage + " s ON (" +
+            String.join(" AND ", keys.stream().map(key -> "t." + quote(key) + " = s." + quote(key)).toList()) + ")" +
+            (updated.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " +
+                String.join(", ", updated.stream().map(column -> "t." + quote(column) + " = s." + quote(column)).toList())) +
+            " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns.stream().map(this::quote).toList()) + ")" +
+            " VALUES (" + String.join(", ", columns.stream().map(column -> "s." + quote(column)).toList()) + ")";
+    }
+
+    /**
+     * The columns of {@code table} whose values the engine generates and only accepts explicitly once
+     * {@link #identityInsert} is enabled, read from the catalog.
+     */
+    default List<String> identityColumns(Connection connection, String schema, String table) throws SQLException {
+        return List.of();
+    }
+
+    /**
+     * A statement allowing, or no longer allowing, the session to insert explicit values into the
+     * {@linkplain #identityColumns identity columns} of {@code table}, qualified; {@code null} if the engine needs none.
+     */
+    default String identityInsert(String table, boolean enabled) {
+        return null;
+    }
+
+    /**
+     * A statement creating the empty table {@code shadow} with the columns of {@code table}, and with its indexes when
+     * the engine copies them, both qualified, to load the rows swapped into {@code table}.
+     */
+    default String createShadow(String shadow, String table) {
+        return "CREATE TABLE " + shadow + " AS SELECT * FROM " + table + " WHERE 1 = 0";
+    }
+
+    /**
+     * Statements building on {@code shadow}, qualified, the indexes of {@code table} that {@link #createShadow} does
+     * not copy, read from the catalog. The statements of a wave may run at the same time, once the previous wave
+     * completed.
+     */
+    default List<List<String>> shadowIndexes(Connection connection, String schema, String table, String shadow) throws SQLException {
+        return List.of();
+    }
+
+    /**
+     * Statements, run in one transaction, giving {@code table} the rows of {@code shadow} and leaving the rows to drop
+     * in {@code shadow}; empty when the engine cannot swap two tables atomically.
+     */
+    default List<String> swap(String schema, String table, String shadow) {
+        return List.of();
+    }
+
+    /**
+     * The objects of {@code table}, read from the catalog, that the {@link #swap} statements or the drop of the previous
+     * rows would fail on or break, described for the user; empty when the table can be swapped.
+     */
+    default List<String> swapBlockers(Connection connection, String schema, String table) throws SQLException {
+        return List.of();
+    }
+
+    /**
+     * The active objects of {@code table} of the given kinds that slow a bulk load down, read from the catalog, with the
+     * statements suspending them before the load and restoring them after. Unique indexes and constraints are kept, as
+     * the load relies on them; the kinds the engine cannot suspend are left out.
+     */
+    default List<TableObject> suspendable(Connection connection, String schema, String table, Set<TableObject.Kind> kinds) throws SQLException {
+        return List.of();
+    }
+
+    /**
+     * A statement refreshing the optimizer statistics of a table after a load; {@code null} if the engine has none.
+     */
+    default String refreshStatistics(String schema, String table) {
+        return null;
+    }
+
+    /**
+     * List the tables of a schema with their approximate size, read from the catalog statistics rather than counted.
+     */
+    List<TableStatistics> tables(Connection connection, String schema) throws SQLException;
+
+    /**
+     * Approximate size of one table; {@link Optional#empty()} when it does not exist.
+     */
+    default Optional<TableStatistics> table(Connection connection, String schema, String table) throws SQLException {
+        return tables(connection, schema).stream()
+            .filter(statistics -> statistics.table().equalsIgnoreCase(table))
+            .findFirst();
+    }
+
+    /**
+     * The columns of the primary key, or else of the first unique index, of a table, in key order.
+     */
+    default List<KeyColumn> keyColumns(Connection connection, String schema, String table) throws SQLException {
+        return Catalog.keyColumns(connection, this, schema, table);
+    }
+
+    /**
+     * The columns the rows of a table are stored in the order of, in key order; empty for a heap. Defaults to the
+     * {@linkplain #keyColumns key columns}, the storage order of the engines clustering a table on its primary key and
+     * the order the B-tree of the key is appended to otherwise.
+     */
+    default List<String> clusteringKey(Connection connection, String schema, String table) throws SQLException {
+        return keyColumns(connection, schema, table).stream().map(KeyColumn::name).toList();
+    }
+
+    /**
+     * @return whether the FastTransfer schema maps to a JDBC catalog rather than a JDBC schema
+     */
+    default boolean schemasAreCatalogs() {
+        return false;
+    }
+
+    /**
+     * @return the FastTransfer parallel method splitting a table on its physical row location without a key column,
+     *     or {@code null} if the engine has none
+     */
+    default String keylessMethod() {
+        return null;
+    }
+
+    static Dialect of(String connectionType) {
+        if (connectionType == null) {
+            throw new IllegalArgumentException("A connection type is required to connect through JDBC");
+        }
+
+        String type = connectionType.toLowerCase(Locale.ROOT);
+        for (Dialect dialect : ServiceLoader.load(Dialect.class, Dialect.class.getClassLoader())) {
+            if (dialect.supports(type)) {
+                return dialect;
+            }
+        }
+
+        throw new IllegalArgumentException("Connection type '" + connectionType + "' is not supported for JDBC access");
+    }
+}
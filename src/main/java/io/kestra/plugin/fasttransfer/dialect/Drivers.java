@@ -0,0 +1,25 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.sql.Driver;
+
+/**
+ * Loads the JDBC drivers, which the plugin does not ship: the Kestra instance provides the ones of the engines it
+ * connects to, so that the plugin does not bring its own versions next to the ones of the JDBC plugins.
+ */
+final class Drivers {
+    private Drivers() {
+    }
+
+    static Driver load(String engine, String className) {
+        try {
+            return (Driver) Class.forName(className, true, Drivers.class.getClassLoader()).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+            throw new IllegalStateException(
+                "The " + engine + " JDBC driver " + className + " is not on the classpath, add its jar to the Kestra libraries to query " + engine + " through JDBC",
+                e
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The " + engine + " JDBC driver " + className + " cannot be instantiated", e);
+        }
+    }
+}
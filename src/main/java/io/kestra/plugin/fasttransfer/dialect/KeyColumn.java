@@ -0,0 +1,9 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+/**
+ * A column of the primary key or of a unique index of a table, candidate to distribute a parallel transfer.
+ *
+ * @param numeric whether the column has an integer or decimal type, suitable for range splits
+ */
+public record KeyColumn(String name, boolean numeric) {
+}
@@ -0,0 +1,126 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+public class MySqlDialect implements Dialect {
+    private static final Set<String> CONNECTION_TYPES = Set.of("mysql", "mysqlbulk");
+
+    @Override
+    public String name() {
+        return "MySQL";
+    }
+
+    @Override
+    public boolean supports(String connectionType) {
+        return CONNECTION_TYPES.contains(connectionType);
+    }
+
+    @Override
+    public Driver driver() {
+        return Drivers.load(name(), "com.mysql.cj.jdbc.Driver");
+    }
+
+    @Override
+    public String url(String server, String database, boolean trusted) {
+        return "jdbc:mysql://" + server + "/" + (database != null ? database : "");
+    }
+
+    @Override
+    public String quote(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    @Override
+    public boolean schemasAreCatalogs() {
+        return true;
+    }
+
+    @Override
+    public String rowHashAggregate(List<String> columns) {
+        // each value prefixed by its length and NULL written N, 60 bits of the md5 of the row summed as a DECIMAL
+        String row = "CONCAT(" + String.join(", ", columns.stream()
+            .map(this::quote)
+            .map(column -> "IF(" + column + " IS NULL, 'N', CONCAT(CHAR_LENGTH(" + column + "), ':', " + column + "))")
+            .toList()) + ")";
+        return "SUM(CAST(CONV(LEFT(MD5(" + row + "), 15), 16, 10) AS UNSIGNED))";
+    }
+
+    @Override
+    public String createStage(String stage, String table) {
+        return "CREATE TABLE " + stage + " LIKE " + table;
+    }
+
+    @Override
+    public String merge(String table, String stage, List<String> columns, List<String> keys, List<String> identity) {
+        List<String> updated = columns.stream()
+            .filter(column -> keys.stream().noneMatch(column::equalsIgnoreCase) && identity.stream().noneMatch(column::equalsIgnoreCase))
+            .toList();
+        if (updated.isEmpty()) {
+            // nothing to update, the key is rewritten as is
+            updated = List.of(keys.getFirst());
+        }
+        return "INSERT INTO " + table + " (" + String.join(", ", columns.stream().map(this::quote).toList()) + ")" +
+            " SELECT " + String.join(", ", columns.stream().map(this::quote).toList()) + " FROM " + stage +
+            " ON DUPLICATE KEY UPDATE " + String.join(", ", updated.stream().map(column -> quote(column) + " = VALUES(" + quote(column) + ")").toList());
+    }
+
+    @Override
+    public String createShadow(String shadow, String table) {
+        return "CREATE TABLE " + shadow + " LIKE " + table;
+    }
+
+    @Override
+    public List<String> swap(String schema, String table, String shadow) {
+        // a single RENAME TABLE renames all its tables atomically
+        return List.of(
+            "RENAME TABLE " + qualify(schema, table) + " TO " + qualify(schema, shadow + "_swap") + ", " +
+                qualify(schema, shadow) + " TO " + qualify(schema, table) + ", " +
+                qualify(schema, shadow + "_swap") + " TO " + qualify(schema, shadow)
+        );
+    }
+
+    @Override
+    public List<TableObject> suspendable(Connection connection, String schema, String table, Set<TableObject.Kind> kinds) throws SQLException {
+        // foreign keys and triggers cannot be disabled for the sessions of the FastTransfer process
+        if (!kinds.contains(TableObject.Kind.INDEX)) {
+            return List.of();
+        }
+
+        String sql = """
+            SELECT index_name, GROUP_CONCAT(CONCAT('`', REPLACE(column_name, '`', '``'), '`', IFNULL(CONCAT('(', sub_part, ')'), '')) ORDER BY seq_in_index SEPARATOR ', ')
+            FROM information_schema.statistics
+            WHERE table_schema = ? AND table_name = ? AND non_unique = 1 AND index_type = 'BTREE'
+            GROUP BY index_name
+            HAVING SUM(column_name IS NULL) = 0
+            """;
+        String qualified = qualify(schema, table);
+        return Catalog.rows(connection, sql, schema, table).stream()
+            .map(row -> new TableObject(
+                TableObject.Kind.INDEX,
+                row.get(0),
+                "ALTER TABLE " + qualified + " DROP INDEX " + quote(row.get(0)),
+                "ALTER TABLE " + qualified + " ADD INDEX " + quote(row.get(0)) + " (" + row.get(1) + ")"
+            ))
+            .toList();
+    }
+
+    @Override
+    public String refreshStatistics(String schema, String table) {
+        return "ANALYZE TABLE " + qualify(schema, table);
+    }
+
+    @Override
+    public List<TableStatistics> tables(Connection connection, String schema) throws SQLException {
+        String sql = """
+            SELECT table_schema, table_name, COALESCE(table_rows, 0), COALESCE(data_length, 0)
+            FROM information_schema.tables
+            WHERE table_type = 'BASE TABLE' AND table_schema = ?
+            """;
+
+        return Catalog.tables(connection, sql, schema);
+    }
+}
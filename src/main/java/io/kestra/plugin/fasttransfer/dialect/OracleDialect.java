@@ -0,0 +1,109 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class OracleDialect implements Dialect {
+    private static final Set<String> CONNECTION_TYPES = Set.of("oraodp", "orabulk", "oradirect");
+
+    @Override
+    public String name() {
+        return "Oracle";
+    }
+
+    @Override
+    public boolean supports(String connectionType) {
+        return CONNECTION_TYPES.contains(connectionType);
+    }
+
+    @Override
+    public Driver driver() {
+        return Drivers.load(name(), "oracle.jdbc.OracleDriver");
+    }
+
+    @Override
+    public String url(String server, String database, boolean trusted) {
+        // "host:port/service" is used as is, otherwise the database is the service name
+        if (server.contains("/") || database == null) {
+            return "jdbc:oracle:thin:@//" + server;
+        }
+        return "jdbc:oracle:thin:@//" + server + "/" + database;
+    }
+
+    @Override
+    public String keylessMethod() {
+        return "Rowid";
+    }
+
+    @Override
+    public String rowHashAggregate(List<String> columns) {
+        // each value prefixed by its length and NULL written N, so that neither a separator in a value nor a NULL
+        // moved to another column gives the same row; 60 bits of the SHA-256 of the row summed as a NUMBER
+        String row = String.join(" || ", columns.stream()
+            .map(this::quote)
+            .map(column -> "NVL2(" + column + ", LENGTH(" + column + ") || ':' || " + column + ", 'N')")
+            .toList());
+        return "SUM(TO_NUMBER(SUBSTR(RAWTOHEX(STANDARD_HASH(" + row + ", 'SHA256')), 1, 15), 'XXXXXXXXXXXXXXX'))";
+    }
+
+    @Override
+    public String createStage(String stage, String table) {
+        return "CREATE TABLE " + stage + " NOLOGGING AS SELECT * FROM " + table + " WHERE 1 = 0";
+    }
+
+    @Override
+    public List<TableObject> suspendable(Connection connection, String schema, String table, Set<TableObject.Kind> kinds) throws SQLException {
+        String qualified = qualify(schema, table);
+        List<TableObject> objects = new ArrayList<>();
+
+        if (kinds.contains(TableObject.Kind.INDEX)) {
+            // the direct path loads skip the unusable indexes
+            String sql = """
+                SELECT owner, index_name FROM all_indexes
+                WHERE table_owner = ? AND table_name = ? AND uniqueness = 'NONUNIQUE' AND index_type = 'NORMAL' AND status = 'VALID'
+                """;
+            for (List<String> row : Catalog.rows(connection, sql, schema, table)) {
+                String index = qualify(row.get(0), row.get(1));
+                objects.add(new TableObject(TableObject.Kind.INDEX, row.get(1), "ALTER INDEX " + index + " UNUSABLE", "ALTER INDEX " + index + " REBUILD"));
+            }
+        }
+
+        if (kinds.contains(TableObject.Kind.FOREIGN_KEY)) {
+            String sql = "SELECT constraint_name FROM all_constraints WHERE owner = ? AND table_name = ? AND constraint_type = 'R' AND status = 'ENABLED'";
+            for (List<String> row : Catalog.rows(connection, sql, schema, table)) {
+                String constraint = quote(row.get(0));
+                objects.add(new TableObject(TableObject.Kind.FOREIGN_KEY, row.get(0), "ALTER TABLE " + qualified + " DISABLE CONSTRAINT " + constraint, "ALTER TABLE " + qualified + " ENABLE CONSTRAINT " + constraint));
+            }
+        }
+
+        if (kinds.contains(TableObject.Kind.TRIGGER)) {
+            String sql = "SELECT owner, trigger_name FROM all_triggers WHERE table_owner = ? AND table_name = ? AND status = 'ENABLED'";
+            for (List<String> row : Catalog.rows(connection, sql, schema, table)) {
+                String trigger = qualify(row.get(0), row.get(1));
+                objects.add(new TableObject(TableObject.Kind.TRIGGER, row.get(1), "ALTER TRIGGER " + trigger + " DISABLE", "ALTER TRIGGER " + trigger + " ENABLE"));
+            }
+        }
+
+        return objects;
+    }
+
+    @Override
+    public String refreshStatistics(String schema, String table) {
+        return "BEGIN DBMS_STATS.GATHER_TABLE_STATS(" + literal(schema) + ", " + literal(table) + "); END;";
+    }
+
+    @Override
+    public List<TableStatistics> tables(Connection connection, String schema) throws SQLException {
+        String sql = """
+            SELECT owner, table_name, NVL(num_rows, 0), NVL(num_rows, 0) * NVL(avg_row_len, 0)
+            FROM all_tables
+            WHERE nested = 'NO' AND secondary = 'N' AND owner = ?
+            """;
+
+        return Catalog.tables(connection, sql, schema);
+    }
+}
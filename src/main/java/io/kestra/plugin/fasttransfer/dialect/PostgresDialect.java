@@ -0,0 +1,172 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class PostgresDialect implements Dialect {
+    private static final Set<String> CONNECTION_TYPES = Set.of("pgsql", "pgcopy");
+
+    @Override
+    public String name() {
+        return "PostgreSQL";
+    }
+
+    @Override
+    public boolean supports(String connectionType) {
+        return CONNECTION_TYPES.contains(connectionType);
+    }
+
+    @Override
+    public Driver driver() {
+        return Drivers.load(name(), "org.postgresql.Driver");
+    }
+
+    @Override
+    public String url(String server, String database, boolean trusted) {
+        return "jdbc:postgresql://" + server + "/" + (database != null ? database : "");
+    }
+
+    @Override
+    public String keylessMethod() {
+        return "Ctid";
+    }
+
+    @Override
+    public String rowHashAggregate(List<String> columns) {
+        // 60 bits of the md5 of the row, summed as numeric so that it never overflows
+        return "SUM(('x' || LEFT(md5(ROW(" + String.join(", ", columns.stream().map(this::quote).toList()) + ")::text), 15))::bit(60)::bigint::numeric)";
+    }
+
+    @Override
+    public String createStage(String stage, String table) {
+        // not written to the WAL, the stage is dropped after the merge anyway
+        return "CREATE UNLOGGED TABLE " + stage + " (LIKE " + table + ")";
+    }
+
+    @Override
+    public String merge(String table, String stage, List<String> columns, List<String> keys, List<String> identity) {
+        // ON CONFLICT rather than MERGE, available before PostgreSQL 15 and backed by the unique index of the keys
+        List<String> updated = columns.stream()
+            .filter(column -> keys.stream().noneMatch(column::equalsIgnoreCase) && identity.stream().noneMatch(column::equalsIgnoreCase))
+            .toList();
+        return "INSERT INTO " + table + " (" + String.join(", ", columns.stream().map(this::quote).toList()) + ")" +
+            " SELECT " + String.join(", ", columns.stream().map(this::quote).toList()) + " FROM " + stage +
+            " ON CONFLICT (" + String.join(", ", keys.stream().map(this::quote).toList()) + ")" +
+            (updated.isEmpty() ? " DO NOTHING" : " DO UPDATE SET " +
+                String.join(", ", updated.stream().map(column -> quote(column) + " = EXCLUDED." + quote(column)).toList()));
+    }
+
+    @Override
+    public String createShadow(String shadow, String table) {
+        // logged, it becomes the target; the indexes are created before the load, under names of their own
+        return "CREATE TABLE " + shadow + " (LIKE " + table + " INCLUDING ALL)";
+    }
+
+    @Override
+    public List<String> swap(String schema, String table, String shadow) {
+        // renames are transactional, readers see either table
+        return List.of(
+            "ALTER TABLE " + qualify(schema, table) + " RENAME TO " + quote(shadow + "_swap"),
+            "ALTER TABLE " + qualify(schema, shadow) + " RENAME TO " + quote(table),
+            "ALTER TABLE " + qualify(schema, shadow + "_swap") + " RENAME TO " + quote(shadow)
+        );
+    }
+
+    @Override
+    public List<String> swapBlockers(Connection connection, String schema, String table) throws SQLException {
+        String qualified = qualify(schema, table);
+        List<String> blockers = new ArrayList<>();
+
+        // the sequence of a serial column is dropped with the previous table, the one of an identity column restarts
+        String sequences = """
+            SELECT s.relname
+            FROM pg_depend d
+            JOIN pg_class s ON s.oid = d.objid AND s.relkind = 'S'
+            WHERE d.refobjid = ?::regclass AND d.deptype IN ('a', 'i')
+            """;
+        for (List<String> row : Catalog.rows(connection, sequences, qualified)) {
+            blockers.add("sequence " + row.get(0) + " of a serial or identity column");
+        }
+
+        // views and foreign keys follow the renamed table, the previous one could not be dropped
+        String views = """
+            SELECT DISTINCT v.relname
+            FROM pg_depend d
+            JOIN pg_rewrite r ON r.oid = d.objid
+            JOIN pg_class v ON v.oid = r.ev_class
+            WHERE d.refobjid = ?::regclass AND v.oid <> d.refobjid
+            """;
+        for (List<String> row : Catalog.rows(connection, views, qualified)) {
+            blockers.add("view " + row.get(0));
+        }
+
+        String foreignKeys = "SELECT conname FROM pg_constraint WHERE confrelid = ?::regclass AND contype = 'f'";
+        for (List<String> row : Catalog.rows(connection, foreignKeys, qualified)) {
+            blockers.add("foreign key " + row.get(0));
+        }
+
+        return blockers;
+    }
+
+    @Override
+    public List<TableObject> suspendable(Connection connection, String schema, String table, Set<TableObject.Kind> kinds) throws SQLException {
+        String qualified = qualify(schema, table);
+        List<TableObject> objects = new ArrayList<>();
+
+        if (kinds.contains(TableObject.Kind.INDEX)) {
+            String sql = """
+                SELECT c.relname, pg_get_indexdef(i.indexrelid)
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE i.indrelid = ?::regclass AND NOT i.indisunique AND i.indisvalid
+                """;
+            for (List<String> row : Catalog.rows(connection, sql, qualified)) {
+                objects.add(new TableObject(TableObject.Kind.INDEX, row.get(0), "DROP INDEX " + qualify(schema, row.get(0)), row.get(1)));
+            }
+        }
+
+        if (kinds.contains(TableObject.Kind.FOREIGN_KEY)) {
+            String sql = "SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'";
+            for (List<String> row : Catalog.rows(connection, sql, qualified)) {
+                String constraint = quote(row.get(0));
+                objects.add(new TableObject(
+                    TableObject.Kind.FOREIGN_KEY,
+                    row.get(0),
+                    "ALTER TABLE " + qualified + " DROP CONSTRAINT " + constraint,
+                    "ALTER TABLE " + qualified + " ADD CONSTRAINT " + constraint + " " + row.get(1)
+                ));
+            }
+        }
+
+        if (kinds.contains(TableObject.Kind.TRIGGER)) {
+            String sql = "SELECT tgname FROM pg_trigger WHERE tgrelid = ?::regclass AND NOT tgisinternal AND tgenabled <> 'D'";
+            for (List<String> row : Catalog.rows(connection, sql, qualified)) {
+                String trigger = quote(row.get(0));
+                objects.add(new TableObject(TableObject.Kind.TRIGGER, row.get(0), "ALTER TABLE " + qualified + " DISABLE TRIGGER " + trigger, "ALTER TABLE " + qualified + " ENABLE TRIGGER " + trigger));
+            }
+        }
+
+        return objects;
+    }
+
+    @Override
+    public String refreshStatistics(String schema, String table) {
+        return "ANALYZE " + qualify(schema, table);
+    }
+
+    @Override
+    public List<TableStatistics> tables(Connection connection, String schema) throws SQLException {
+        String sql = """
+            SELECT n.nspname, c.relname, GREATEST(c.reltuples, 0)::bigint, pg_table_size(c.oid)
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE c.relkind IN ('r', 'p') AND NOT c.relispartition AND n.nspname = ?
+            """;
+
+        return Catalog.tables(connection, sql, schema);
+    }
+}
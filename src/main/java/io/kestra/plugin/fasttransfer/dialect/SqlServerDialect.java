@@ -0,0 +1,286 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Driver;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class SqlServerDialect implements Dialect {
+    private static final Set<String> CONNECTION_TYPES = Set.of("mssql", "msbulk", "msoledbsql");
+
+    @Override
+    public String name() {
+        return "SQL Server";
+    }
+
+    @Override
+    public boolean supports(String connectionType) {
+        return CONNECTION_TYPES.contains(connectionType);
+    }
+
+    @Override
+    public Driver driver() {
+        return Drivers.load(name(), "com.microsoft.sqlserver.jdbc.SQLServerDriver");
+    }
+
+    @Override
+    public String url(String server, String database, boolean trusted) {
+        // FastTransfer uses the ADO.NET "host,port" and "host\instance" notations
+        String host = server;
+        String suffix = "";
+        int instance = host.indexOf('\\');
+        if (instance >= 0) {
+            suffix = ";instanceName=" + host.substring(instance + 1);
+            host = host.substring(0, instance);
+        }
+        host = host.replace(',', ':');
+
+        return "jdbc:sqlserver://" + host + suffix +
+            (database != null ? ";databaseName=" + database : "") +
+            (trusted ? ";integratedSecurity=true" : "");
+    }
+
+    @Override
+    public String quote(String identifier) {
+        return "[" + identifier.replace("]", "]]") + "]";
+    }
+
+    @Override
+    public String literal(Object value) {
+        // no ANSI date literals, the ISO strings are converted implicitly
+        if (value instanceof Timestamp || value instanceof LocalDateTime || value instanceof OffsetDateTime) {
+            return "'" + value.toString().replace('T', ' ') + "'";
+        }
+        if (value instanceof Date || value instanceof LocalDate) {
+            return "'" + value + "'";
+        }
+        if (value instanceof String string) {
+            return "N'" + string.replace("'", "''") + "'";
+        }
+        return Dialect.super.literal(value);
+    }
+
+    @Override
+    public String keylessMethod() {
+        return "Physloc";
+    }
+
+    @Override
+    public String rowHashAggregate(List<String> columns) {
+        // each value prefixed by its length, trailing spaces included, and NULL written N; 56 bits of the SHA-256 of
+        // the row summed as a decimal, CHECKSUM_AGG being a XOR that two identical rows cancel out
+        String row = "CONCAT(" + String.join(", ", columns.stream()
+            .map(this::quote)
+            .map(column -> "IIF(" + column + " IS NULL, N'N', CONCAT(LEN(CONCAT(" + column + ", N'.')) - 1, N':', " + column + "))")
+            .toList()) + ", N'')";
+        return "SUM(CONVERT(DECIMAL(38, 0), CONVERT(BIGINT, SUBSTRING(HASHBYTES('SHA2_256', " + row + "), 1, 7))))";
+    }
+
+    @Override
+    public List<String> clusteringKey(Connection connection, String schema, String table) throws SQLException {
+        // the clustered index, which need not be the primary key
+        String sql = """
+            SELECT c.name
+            FROM sys.indexes i
+            JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+            JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+            WHERE i.object_id = OBJECT_ID(?) AND i.type = 1 AND ic.key_ordinal > 0
+            ORDER BY ic.key_ordinal
+            """;
+        return Catalog.rows(connection, sql, qualify(schema, table)).stream().map(List::getFirst).toList();
+    }
+
+    @Override
+    public String createStage(String stage, String table) {
+        // the union drops the IDENTITY property, so that the key values of the source can be loaded
+        return "SELECT * INTO " + stage + " FROM " + table + " WHERE 1 = 0 UNION ALL SELECT * FROM " + table + " WHERE 1 = 0";
+    }
+
+    @Override
+    public String merge(String table, String stage, List<String> columns, List<String> keys, List<String> identity) {
+        // a MERGE must be terminated by a semicolon
+        return Dialect.super.merge(table, stage, columns, keys, identity) + ";";
+    }
+
+    @Override
+    public List<String> identityColumns(Connection connection, String schema, String table) throws SQLException {
+        return Catalog.rows(connection, "SELECT name FROM sys.identity_columns WHERE object_id = OBJECT_ID(?)", qualify(schema, table)).stream()
+            .map(List::getFirst)
+            .toList();
+    }
+
+    @Override
+    public String identityInsert(String table, boolean enabled) {
+        // a session setting, for one table of the session at a time
+        return "SET IDENTITY_INSERT " + table + (enabled ? " ON" : " OFF");
+    }
+
+    @Override
+    public String createShadow(String shadow, String table) {
+        // a heap keeping the IDENTITY property, as ALTER TABLE SWITCH requires the same columns on both sides
+        return "SELECT * INTO " + shadow + " FROM " + table + " WHERE 1 = 0";
+    }
+
+    @Override
+    public List<List<String>> shadowIndexes(Connection connection, String schema, String table, String shadow) throws SQLException {
+        // the clustered index first, it rewrites the table, then the others at the same time
+        List<String> clustered = new ArrayList<>();
+        List<String> nonClustered = new ArrayList<>();
+        for (Index index : indexes(connection, schema, table)) {
+            (index.clustered() ? clustered : nonClustered).add(index.create(this, shadow));
+        }
+        return Stream.of(clustered, nonClustered).filter(wave -> !wave.isEmpty()).toList();
+    }
+
+    @Override
+    public List<String> swap(String schema, String table, String shadow) {
+        // the target must be empty to be switched in, its name, permissions and dependencies are kept
+        return List.of(
+            "TRUNCATE TABLE " + qualify(schema, table),
+            "ALTER TABLE " + qualify(schema, shadow) + " SWITCH TO " + qualify(schema, table)
+        );
+    }
+
+    @Override
+    public List<String> swapBlockers(Connection connection, String schema, String table) throws SQLException {
+        String qualified = qualify(schema, table);
+        List<String> blockers = new ArrayList<>();
+
+        // a table referenced by a foreign key cannot be truncated
+        for (List<String> row : Catalog.rows(connection, "SELECT name FROM sys.foreign_keys WHERE referenced_object_id = OBJECT_ID(?)", qualified)) {
+            blockers.add("foreign key " + row.get(0));
+        }
+        // SELECT INTO does not copy them, and SWITCH requires them on the shadow
+        for (List<String> row : Catalog.rows(connection, "SELECT name FROM sys.check_constraints WHERE parent_object_id = OBJECT_ID(?)", qualified)) {
+            blockers.add("CHECK constraint " + row.get(0));
+        }
+
+        return blockers;
+    }
+
+    @Override
+    public List<TableObject> suspendable(Connection connection, String schema, String table, Set<TableObject.Kind> kinds) throws SQLException {
+        String qualified = qualify(schema, table);
+        List<TableObject> objects = new ArrayList<>();
+
+        if (kinds.contains(TableObject.Kind.INDEX)) {
+            // dropped and created again rather than disabled, as several CREATE INDEX can run at the same time
+            for (Index index : indexes(connection, schema, table)) {
+                if (!index.clustered() && !index.unique() && !index.primaryKey() && !index.uniqueConstraint()) {
+                    objects.add(new TableObject(TableObject.Kind.INDEX, index.name(), "DROP INDEX " + quote(index.name()) + " ON " + qualified, index.create(this, qualified)));
+                }
+            }
+        }
+
+        if (kinds.contains(TableObject.Kind.FOREIGN_KEY)) {
+            // a trusted key is checked again, so that the optimizer can still rely on it
+            String sql = "SELECT name, IIF(is_not_trusted = 1, 'CHECK', 'WITH CHECK CHECK') FROM sys.foreign_keys WHERE parent_object_id = OBJECT_ID(?) AND is_disabled = 0";
+            for (List<String> row : Catalog.rows(connection, sql, qualified)) {
+                String constraint = quote(row.get(0));
+                objects.add(new TableObject(TableObject.Kind.FOREIGN_KEY, row.get(0), "ALTER TABLE " + qualified + " NOCHECK CONSTRAINT " + constraint, "ALTER TABLE " + qualified + " " + row.get(1) + " CONSTRAINT " + constraint));
+            }
+        }
+
+        if (kinds.contains(TableObject.Kind.TRIGGER)) {
+            String sql = "SELECT name FROM sys.triggers WHERE parent_id = OBJECT_ID(?) AND is_disabled = 0";
+            for (List<String> row : Catalog.rows(connection, sql, qualified)) {
+                String trigger = quote(row.get(0));
+                objects.add(new TableObject(TableObject.Kind.TRIGGER, row.get(0), "DISABLE TRIGGER " + trigger + " ON " + qualified, "ENABLE TRIGGER " + trigger + " ON " + qualified));
+            }
+        }
+
+        return objects;
+    }
+
+    @Override
+    public String refreshStatistics(String schema, String table) {
+        return "UPDATE STATISTICS " + qualify(schema, table);
+    }
+
+    @Override
+    public List<TableStatistics> tables(Connection connection, String schema) throws SQLException {
+        String sql = """
+            SELECT s.name, t.name, SUM(p.row_count), SUM(p.used_page_count) * 8192
+            FROM sys.tables t
+            JOIN sys.schemas s ON s.schema_id = t.schema_id
+            JOIN sys.dm_db_partition_stats p ON p.object_id = t.object_id AND p.index_id IN (0, 1)
+            WHERE s.name = ?
+            GROUP BY s.name, t.name
+            """;
+
+        return Catalog.tables(connection, sql, schema);
+    }
+
+    /**
+     * The clustered and non-clustered indexes of a table, read from the catalog.
+     */
+    private List<Index> indexes(Connection connection, String schema, String table) throws SQLException {
+        String sql = """
+            SELECT i.index_id, i.name, i.type, i.is_unique, i.is_primary_key, i.is_unique_constraint, i.filter_definition,
+                c.name, ic.is_descending_key, ic.is_included_column
+            FROM sys.indexes i
+            JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+            JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+            WHERE i.object_id = OBJECT_ID(?) AND i.type IN (1, 2) AND i.is_hypothetical = 0 AND i.is_disabled = 0
+            ORDER BY i.index_id, ic.is_included_column, ic.key_ordinal, ic.index_column_id
+            """;
+
+        Map<Integer, Index> indexes = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, qualify(schema, table));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    Index index = indexes.get(rs.getInt(1));
+                    if (index == null) {
+                        index = new Index(rs.getString(2), rs.getInt(3) == 1, rs.getBoolean(4), rs.getBoolean(5), rs.getBoolean(6), rs.getString(7), new ArrayList<>(), new ArrayList<>());
+                        indexes.put(rs.getInt(1), index);
+                    }
+                    if (rs.getBoolean(10)) {
+                        index.includes().add(quote(rs.getString(8)));
+                    } else {
+                        index.keys().add(quote(rs.getString(8)) + (rs.getBoolean(9) ? " DESC" : ""));
+                    }
+                }
+            }
+        }
+        return List.copyOf(indexes.values());
+    }
+
+    /**
+     * @param keys the quoted key columns, with their order
+     * @param includes the quoted included columns
+     */
+    private record Index(
+        String name,
+        boolean clustered,
+        boolean unique,
+        boolean primaryKey,
+        boolean uniqueConstraint,
+        String filter,
+        List<String> keys,
+        List<String> includes
+    ) {
+        String create(SqlServerDialect dialect, String table) {
+            String kind = clustered ? "CLUSTERED" : "NONCLUSTERED";
+            // constraints left unnamed, their names being taken by the constraints of the target
+            if (primaryKey || uniqueConstraint) {
+                return "ALTER TABLE " + table + " ADD " + (primaryKey ? "PRIMARY KEY " : "UNIQUE ") + kind + " (" + String.join(", ", keys) + ")";
+            }
+            return "CREATE " + (unique ? "UNIQUE " : "") + kind + " INDEX " + dialect.quote(name) + " ON " + table + " (" + String.join(", ", keys) + ")" +
+                (includes.isEmpty() ? "" : " INCLUDE (" + String.join(", ", includes) + ")") +
+                (filter != null ? " WHERE " + filter : "");
+        }
+    }
+}
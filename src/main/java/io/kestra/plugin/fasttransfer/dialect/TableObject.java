@@ -0,0 +1,18 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+/**
+ * An index, foreign key or trigger of a table suspended for the time of a bulk load.
+ *
+ * @param suspend the statement dropping or disabling the object before the load
+ * @param restore the statement creating, rebuilding or enabling the object again after the load
+ */
+public record TableObject(Kind kind, String name, String suspend, String restore) {
+    /**
+     * In the order the objects are restored.
+     */
+    public enum Kind {
+        INDEX,
+        FOREIGN_KEY,
+        TRIGGER
+    }
+}
@@ -0,0 +1,10 @@
+package io.kestra.plugin.fasttransfer.dialect;
+
+/**
+ * Approximate size of a table, as known by the catalog statistics of its database.
+ *
+ * @param rows estimated number of rows, {@code 0} when unknown
+ * @param bytes estimated size of the data in bytes, {@code 0} when unknown
+ */
+public record TableStatistics(String schema, String table, long rows, long bytes) {
+}
@@ -0,0 +1,72 @@
+package io.kestra.plugin.fasttransfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionBudgetTest {
+    @Test
+    void scaleDownAndAutomaticDegree() throws Exception {
+        AdmissionBudget budget = new AdmissionBudget(0, 16);
+
+        try (AdmissionBudget.Permit first = budget.acquire(12, true);
+             AdmissionBudget.Permit second = budget.acquire(12, true)) {
+            assertThat(first.degree(), is(12));
+            assertThat(second.degree(), is(4));
+        }
+
+        try (AdmissionBudget.Permit first = budget.acquire(10, true);
+             AdmissionBudget.Permit automatic = budget.acquire(0, true)) {
+            assertThat(automatic.degree(), is(6));
+        }
+    }
+
+    @Test
+    void defaultTransfersRunSingleStream() throws Exception {
+        AdmissionBudget budget = new AdmissionBudget(0, 16);
+        int requested = Admission.requestedDegree(new FastTransferCommand());
+        assertThat(requested, is(1));
+        assertThat(Admission.requestedDegree(new FastTransferCommand().put(FastTransferCommand.METHOD, "None").put(FastTransferCommand.DEGREE, "8")), is(1));
+        assertThat(Admission.requestedDegree(new FastTransferCommand().put(FastTransferCommand.METHOD, "Ntile")), is(0));
+
+        CompletableFuture<AdmissionBudget.Permit> second;
+        try (AdmissionBudget.Permit first = budget.acquire(requested, false)) {
+            second = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return budget.acquire(requested, false);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(first.degree(), is(1));
+            assertThat(second.get(5, TimeUnit.SECONDS).degree(), is(1));
+        }
+        second.join().close();
+    }
+
+    @Test
+    void queueUntilReleased() throws Exception {
+        AdmissionBudget budget = new AdmissionBudget(1, 0);
+
+        AdmissionBudget.Permit first = budget.acquire(4, false);
+        CompletableFuture<AdmissionBudget.Permit> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.acquire(4, false);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+
+        first.close();
+        assertThat(second.get(5, TimeUnit.SECONDS).degree(), is(4));
+    }
+}
@@ -0,0 +1,43 @@
+package io.kestra.plugin.fasttransfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.is;
+
+class BatchSizeTunerTest {
+    @Test
+    void exploitsBestAndExploresNeighbours() {
+        Map<Integer, BatchSizeTuner.Sample> samples = Map.of(
+            65_536, new BatchSizeTuner.Sample(50_000, 4),
+            131_072, new BatchSizeTuner.Sample(80_000, 3),
+            262_144, new BatchSizeTuner.Sample(60_000, 1)
+        );
+
+        assertThat(BatchSizeTuner.choose(Map.of(), new Random()), is(BatchSizeTuner.DEFAULT_BATCH_SIZE));
+
+        Random random = new Random(42);
+        int best = 0;
+        for (int i = 0; i < 1_000; i++) {
+            int chosen = BatchSizeTuner.choose(samples, random);
+            assertThat(chosen, anyOf(is(65_536), is(131_072), is(262_144)));
+            if (chosen == 131_072) {
+                best++;
+            }
+        }
+        assertThat(best > 700 && best < 900, is(true));
+    }
+
+    @Test
+    void movingAverage() {
+        BatchSizeTuner.Sample sample = BatchSizeTuner.Sample.of(400_000, 4)
+            .update(BatchSizeTuner.Sample.of(200_000, 1));
+
+        assertThat(sample.throughput(), is(130_000.0));
+        assertThat(sample.runs(), is(2));
+    }
+}
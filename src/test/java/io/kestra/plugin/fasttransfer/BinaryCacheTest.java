@@ -0,0 +1,75 @@
+package io.kestra.plugin.fasttransfer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryCacheTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void sweepRemovesOrphansAndStaleStaging() throws Exception {
+        Instant now = Instant.now();
+
+        Path orphan = entry("orphan", 10, now.minus(BinaryCache.ORPHAN_TTL).minus(Duration.ofMinutes(1)));
+        Path recent = entry("recent", 10, now.minus(Duration.ofMinutes(5)));
+        Path staging = Files.writeString(recent.resolve("FastTransfer-123.tmp"), "partial");
+        Files.setLastModifiedTime(staging, FileTime.from(now.minus(BinaryCache.STAGING_TTL).minus(Duration.ofMinutes(1))));
+        Files.setLastModifiedTime(recent, FileTime.from(now.minus(Duration.ofMinutes(5))));
+
+        BinaryCache.sweep(root, now);
+
+        assertThat(Files.exists(orphan), is(false));
+        assertThat(Files.exists(recent.resolve(BinaryCache.EXECUTABLE_NAME)), is(true));
+        assertThat(Files.exists(staging), is(false));
+    }
+
+    @Test
+    void extractReplacesTamperedExecutable() throws Exception {
+        Path cache = root.resolve("cache");
+        Path extracted = BinaryCache.extract(cache, "/logback.xml");
+        byte[] expected;
+        try (InputStream is = BinaryCacheTest.class.getResourceAsStream("/logback.xml")) {
+            expected = is.readAllBytes();
+        }
+
+        assertThat(Files.readAllBytes(extracted), is(expected));
+        assertThat(Files.getPosixFilePermissions(cache), is(PosixFilePermissions.fromString("rwx------")));
+        assertThat(Files.getPosixFilePermissions(extracted.getParent()), is(PosixFilePermissions.fromString("rwx------")));
+
+        Files.writeString(extracted, "#!/bin/sh\necho planted");
+        assertThat(BinaryCache.extract(cache, "/logback.xml"), is(extracted));
+        assertThat(Files.readAllBytes(extracted), is(expected));
+    }
+
+    @Test
+    void privateDirectoryRestrictsPermissions() throws Exception {
+        Path shared = Files.createDirectory(root.resolve("shared"), PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxrwxrwx")));
+        Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+
+        BinaryCache.privateDirectory(shared);
+
+        assertThat(Files.getPosixFilePermissions(shared), is(PosixFilePermissions.fromString("rwx------")));
+        assertThrows(IOException.class, () -> BinaryCache.privateDirectory(Files.writeString(root.resolve("file"), "")));
+    }
+
+    private Path entry(String name, int size, Instant lastAccess) throws Exception {
+        Path directory = Files.createDirectories(root.resolve(name));
+        Files.write(directory.resolve(BinaryCache.EXECUTABLE_NAME), new byte[size]);
+        Files.setLastModifiedTime(directory, FileTime.from(lastAccess));
+        return directory;
+    }
+}
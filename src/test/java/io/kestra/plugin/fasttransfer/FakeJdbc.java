@@ -0,0 +1,96 @@
+package io.kestra.plugin.fasttransfer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A JDBC driver answering the catalog queries with canned rows and recording the other statements, so that the SQL
+ * generated by the dialects can be checked without a database.
+ */
+final class FakeJdbc {
+    final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    private final Function<String, List<List<Object>>> rows;
+
+    /**
+     * @param rows the rows of each query, by SQL
+     */
+    FakeJdbc(Function<String, List<List<Object>>> rows) {
+        this.rows = rows;
+    }
+
+    Driver driver() {
+        return proxy(Driver.class, (proxy, method, args) -> switch (method.getName()) {
+            case "connect" -> connection();
+            case "acceptsURL" -> true;
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private Connection connection() {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement(PreparedStatement.class, (String) args[0]);
+            case "createStatement" -> statement(Statement.class, null);
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, String prepared) {
+        return proxy(type, (proxy, method, args) -> switch (method.getName()) {
+            case "executeQuery" -> resultSet(rows.apply(prepared != null ? prepared : (String) args[0]));
+            case "execute", "executeUpdate", "executeLargeUpdate" -> {
+                if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                    executed.add(sql);
+                }
+                yield defaultValue(method.getReturnType());
+            }
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private static ResultSet resultSet(List<List<Object>> rows) {
+        int[] row = {-1};
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (proxy, method, args) ->
+            method.getName().equals("getColumnCount") ? (rows.isEmpty() ? 0 : rows.getFirst().size()) : defaultValue(method.getReturnType()));
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object value = args != null && args.length == 1 && args[0] instanceof Integer column ? rows.get(row[0]).get(column - 1) : null;
+            return switch (method.getName()) {
+                case "next" -> ++row[0] < rows.size();
+                case "getMetaData" -> metaData;
+                case "getString" -> value == null ? null : String.valueOf(value);
+                case "getObject" -> value;
+                case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                case "getBoolean" -> Boolean.TRUE.equals(value);
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(FakeJdbc.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A KV store keeping the values in memory, for the helpers reading and writing their state without a namespace.
+ */
+final class FakeKvStore {
+    final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    KVStore store() {
+        return (KVStore) Proxy.newProxyInstance(KVStore.class.getClassLoader(), new Class<?>[]{KVStore.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "put" -> {
+                values.put((String) args[0], ((KVValueAndMetadata) args[1]).value());
+                yield null;
+            }
+            case "getValue" -> Optional.ofNullable(values.get((String) args[0])).map(KVValue::new);
+            case "delete" -> values.remove((String) args[0]) != null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FastTransferBackfillTest {
+    @Test
+    void dateWindows() {
+        List<FastTransferBackfill.Window> windows = FastTransferBackfill.windows("2023-01-01", "2024-01-01", Duration.ofDays(1), null);
+
+        assertThat(windows, hasSize(365));
+        assertThat(windows.getFirst().name(), is("2023-01-01T00:00/2023-01-02T00:00"));
+        assertThat(
+            windows.getFirst().condition(new PostgresDialect(), "o_orderdate"),
+            is("\"o_orderdate\" >= TIMESTAMP '2023-01-01 00:00:00.0' AND \"o_orderdate\" < TIMESTAMP '2023-01-02 00:00:00.0'")
+        );
+    }
+
+    @Test
+    void numericWindows() {
+        List<FastTransferBackfill.Window> windows = FastTransferBackfill.windows("0", "250", null, 100L);
+
+        assertThat(windows, hasSize(3));
+        assertThat(windows.getLast().name(), is("200/250"));
+
+        assertThrows(IllegalArgumentException.class, () -> FastTransferBackfill.windows("0", "250", Duration.ofDays(1), 100L));
+    }
+
+    @Test
+    void earlyFailureLeavesUntouchedWindowsClean() throws Exception {
+        List<FastTransferBackfill.Window> windows = FastTransferBackfill.windows("0", "300", null, 100L);
+        FakeKvStore kv = new FakeKvStore();
+
+        // la première fenêtre est transférée, la deuxième échoue, la troisième n'a jamais démarré
+        FastTransferBackfill.Checkpoint first = FastTransferBackfill.Checkpoint.load(kv.store(), "backfill", false);
+        first.start(windows.get(0));
+        first.complete(windows.get(0));
+        first.start(windows.get(1));
+
+        FastTransferBackfill.Checkpoint next = FastTransferBackfill.Checkpoint.load(kv.store(), "backfill", false);
+        assertThat(windows.stream().filter(next::completed).toList(), contains(windows.get(0)));
+        assertThat(windows.stream().filter(window -> !next.completed(window)).filter(next::started).toList(), contains(windows.get(1)));
+
+        FastTransferBackfill.Checkpoint restarted = FastTransferBackfill.Checkpoint.load(kv.store(), "backfill", true);
+        assertThat(windows.stream().filter(restarted::completed).toList(), empty());
+        assertThat(windows.stream().filter(restarted::started).toList(), contains(windows.get(0), windows.get(1)));
+    }
+}
@@ -0,0 +1,85 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class FastTransferBatchTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void tablesAppliedAsRendered() {
+        FastTransferCommand shared = new FastTransferCommand()
+            .put("--sourceschema", "dbo")
+            .put("--targetschema", "public");
+
+        FastTransferCommand command = FastTransferBatch.Table.builder()
+            .query("SELECT '{{ not a variable }}' AS tag FROM dbo.orders")
+            .targetSchema("staging")
+            .targetTable("orders")
+            .build()
+            .apply(shared.copy());
+
+        assertThat(command.get("--query"), is("SELECT '{{ not a variable }}' AS tag FROM dbo.orders"));
+        assertThat(command.get("--sourceschema"), is("dbo"));
+        assertThat(command.get("--targetschema"), is("staging"));
+        assertThat(command.get("--targettable"), is("orders"));
+    }
+
+    @Test
+    void concurrencyAndFailures() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        Path events = directory.resolve("events");
+        Path executable = directory.resolve("fasttransfer.sh");
+        Files.writeString(executable, """
+            #!/bin/sh
+            echo start >> "%s"
+            sleep 0.3
+            echo end >> "%s"
+            case "$*" in
+              *"--targettable bad"*) exit 1 ;;
+            esac
+            """.formatted(events, events));
+        Files.setPosixFilePermissions(executable, PosixFilePermissions.fromString("rwx------"));
+
+        List<FastTransferCommand> commands = new ArrayList<>();
+        // le faux binaire échoue pour les tables cibles commençant par bad
+        for (String table : List.of("orders", "bad1", "customer", "bad3", "supplier")) {
+            commands.add(new FastTransferCommand().put("--sourcetable", table).put("--targettable", table));
+        }
+
+        List<TableOutput> outputs = FastTransferBatch.builder().build().transferAll(runContext, executable, commands, null, 2, null, null);
+
+        int running = 0;
+        int maxRunning = 0;
+        for (String event : Files.readAllLines(events)) {
+            running += event.equals("start") ? 1 : -1;
+            maxRunning = Math.max(maxRunning, running);
+        }
+        assertThat(maxRunning, is(2));
+
+        assertThat(outputs.stream().map(TableOutput::getName).toList(), contains("orders", "bad1", "customer", "bad3", "supplier"));
+        assertThat(outputs.stream().map(TableOutput::isFailed).toList(), contains(false, true, false, true, false));
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> AbstractFastTransfer.failIfAny(outputs));
+        assertThat(failure.getMessage(), is("FastTransfer failed for 2 of 5 tables: bad1, bad3"));
+    }
+}
@@ -0,0 +1,87 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.OracleDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FastTransferPartitionPlanTest {
+    @Test
+    void groupsBalanceRowCounts() {
+        Map<Object, Long> values = new LinkedHashMap<>();
+        values.put("AIR", 50L);
+        values.put("MAIL", 40L);
+        values.put("SHIP", 30L);
+        values.put("RAIL", 20L);
+        values.put(null, 10L);
+
+        List<FastTransferPartitionPlan.Group> groups = FastTransferPartitionPlan.groups(values, 2);
+
+        assertThat(groups, hasSize(2));
+        assertThat(groups.get(0).values(), contains("AIR", "RAIL", null));
+        assertThat(groups.get(1).values(), contains("MAIL", "SHIP"));
+        assertThat(groups.get(0).rows(), is(80L));
+    }
+
+    @Test
+    void lastGroupCatchesNewValues() {
+        Map<Object, Long> values = new LinkedHashMap<>();
+        values.put("AIR", 50L);
+        values.put("MAIL", 40L);
+
+        List<FastTransferPartitionPlan.Group> groups = FastTransferPartitionPlan.groups(values, 2);
+
+        assertThat(groups.get(0).condition(new SqlServerDialect(), "l_shipmode"), is("[l_shipmode] IN (N'AIR')"));
+        assertThat(
+            groups.get(1).condition(new SqlServerDialect(), "l_shipmode"),
+            is("[l_shipmode] IS NULL OR NOT ([l_shipmode] IN (N'AIR'))")
+        );
+        assertThat(FastTransferPartitionPlan.groups(Map.of(), 4).getFirst().condition(new SqlServerDialect(), "l_shipmode"), is("1 = 1"));
+
+        values.put(null, 60L);
+        groups = FastTransferPartitionPlan.groups(values, 2);
+        assertThat(groups.get(0).condition(new SqlServerDialect(), "l_shipmode"), is("[l_shipmode] IS NULL"));
+        assertThat(groups.get(1).condition(new SqlServerDialect(), "l_shipmode"), is("[l_shipmode] IS NOT NULL"));
+    }
+
+    @Test
+    void inListsSplitByThousand() {
+        Map<Object, Long> values = new LinkedHashMap<>();
+        for (int i = 0; i < 2500; i++) {
+            values.put(i, 1L);
+        }
+
+        List<FastTransferPartitionPlan.Group> groups = FastTransferPartitionPlan.groups(values, 2);
+        String first = groups.get(0).condition(new OracleDialect(), "ID");
+        String last = groups.get(1).condition(new OracleDialect(), "ID");
+
+        assertThat(first.split(" OR ").length, is(2));
+        assertThat(last, startsWith("\"ID\" IS NULL OR NOT (\"ID\" IN ("));
+        assertThat(last.split(" OR ").length, is(3));
+        for (String condition : List.of(first, last)) {
+            for (String list : condition.split("IN \\(")) {
+                assertThat(list.split(",").length, lessThanOrEqualTo(FastTransferPartitionPlan.MAX_IN_LIST));
+            }
+        }
+    }
+
+    @Test
+    void conditionTooLongForTheCommandLine() {
+        Map<Object, Long> values = new LinkedHashMap<>();
+        for (int i = 0; i < FastTransferPartitionPlan.MAX_DISTINCT_VALUES; i++) {
+            values.put("shipping mode " + i, 1L);
+        }
+
+        List<FastTransferPartitionPlan.Group> groups = FastTransferPartitionPlan.groups(values, 4);
+
+        assertThat(groups.getFirst().condition(new SqlServerDialect(), "l_shipmode"), containsString("IN ("));
+        assertThrows(IllegalArgumentException.class, () -> groups.getLast().condition(new SqlServerDialect(), "l_shipmode"));
+    }
+}
@@ -0,0 +1,67 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import io.kestra.plugin.fasttransfer.dialect.TableStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FastTransferSchemaTest {
+    private static final List<TableStatistics> TABLES = List.of(
+        new TableStatistics("dbo", "region", 5, 8_192),
+        new TableStatistics("dbo", "lineitem", 60_000_000, 8_000_000_000L),
+        new TableStatistics("dbo", "orders", 15_000_000, 1_700_000_000L),
+        new TableStatistics("dbo", "orders_archive", 30_000_000, 1_700_000_000L),
+        new TableStatistics("dbo", "tmp_load", 1_000, 65_536)
+    );
+
+    @Test
+    void largestFirst() {
+        assertThat(
+            FastTransferSchema.select(TABLES, List.of(), List.of()).stream().map(TableStatistics::table).toList(),
+            contains("lineitem", "orders_archive", "orders", "tmp_load", "region")
+        );
+    }
+
+    @Test
+    void globFiltering() {
+        List<TableStatistics> selected = FastTransferSchema.select(
+            TABLES,
+            FastTransferSchema.patterns(List.of("ORDERS*", "re?ion")),
+            FastTransferSchema.patterns(List.of("*_archive"))
+        );
+
+        assertThat(selected.stream().map(TableStatistics::table).toList(), contains("orders", "region"));
+        assertThat(FastTransferSchema.patterns(List.of("a.b")).getFirst().matcher("axb").matches(), is(false));
+    }
+
+    @Test
+    void tablesFromTheCatalog() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> sql.contains("pg_class")
+            ? List.of(List.of("public", "orders", 15_000_000L, 1_700_000_000L), List.of("public", "region", 5L, 8_192L))
+            : List.of()
+        );
+
+        try (Connection connection = jdbc.driver().connect("jdbc:fake", null)) {
+            assertThat(new PostgresDialect().tables(connection, "public"), contains(
+                new TableStatistics("public", "orders", 15_000_000, 1_700_000_000L),
+                new TableStatistics("public", "region", 5, 8_192)
+            ));
+            assertThat(new PostgresDialect().table(connection, "public", "ORDERS").map(TableStatistics::rows).orElse(null), is(15_000_000L));
+        }
+    }
+
+    @Test
+    void driverMissingFromTheClasspath() {
+        // le plugin n'embarque pas les pilotes, ils sont fournis par l'instance Kestra
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> new SqlServerDialect().driver());
+
+        assertThat(failure.getMessage(), containsString("SQL Server JDBC driver com.microsoft.sqlserver.jdbc.SQLServerDriver is not on the classpath"));
+    }
+}
@@ -9,10 +9,13 @@ import io.kestra.core.runners.RunContextFactory;
 
 import jakarta.inject.Inject;
 
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * This test will only test the main task, this allows you to send any input
@@ -22,6 +25,41 @@ import static org.hamcrest.Matchers.is;
 class FastTransferTest {
     @Inject
     private RunContextFactory runContextFactory;
+
+    @Test
+    void batchSizeLeftToFastTransferByDefault() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--sourcetable", "orders")
+            .put("--targettable", "orders");
+
+        assertThat(FastTransfer.builder().build().tuneBatchSize(runContext, command, ""), nullValue());
+        assertThat(command.get("--batchsize"), nullValue());
+
+        FastTransfer adaptive = FastTransfer.builder().adaptiveBatchSize(Property.of(true)).build();
+        FastTransferCommand sized = new FastTransferCommand().put("--batchsize", "10000");
+        assertThat(adaptive.tuneBatchSize(runContext, sized, ""), nullValue());
+        assertThat(sized.get("--batchsize"), is("10000"));
+    }
+
+    @Test
+    void suspendedObjectsRestoredWhenTheTransferFails() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--sourcetable", "orders")
+            .put("--targettable", "orders");
+        AtomicInteger suspended = new AtomicInteger();
+        AtomicInteger restored = new AtomicInteger();
+
+        AbstractFastTransfer.TransferResult result = FastTransfer.builder().build().transfer(runContext, Path.of("/bin/false"), command, null, () -> {
+            suspended.incrementAndGet();
+            return restored::incrementAndGet;
+        });
+
+        assertThat(result.exitCode(), is(1));
+        assertThat(suspended.get(), is(1));
+        assertThat(restored.get(), is(1));
+    }
 /*
     @Test
     void run() throws Exception {
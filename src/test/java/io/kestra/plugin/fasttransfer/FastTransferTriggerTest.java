@@ -0,0 +1,62 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class FastTransferTriggerTest {
+    private static final Logger logger = LoggerFactory.getLogger(FastTransferTriggerTest.class);
+
+    @Test
+    void startsOnlyWhenTheFingerprintChanged() throws Exception {
+        FakeKvStore kv = new FakeKvStore();
+
+        Optional<FastTransferTrigger.Output> first = FastTransferTrigger.changed(kv.store(), "trigger", "100|2024-01-01", logger);
+        assertThat(first.isPresent(), is(true));
+        assertThat(first.get().getFingerprint(), is("100|2024-01-01"));
+        assertThat(first.get().getPreviousFingerprint(), nullValue());
+
+        assertThat(FastTransferTrigger.changed(kv.store(), "trigger", "100|2024-01-01", logger).isPresent(), is(false));
+
+        Optional<FastTransferTrigger.Output> changed = FastTransferTrigger.changed(kv.store(), "trigger", "101|2024-01-02", logger);
+        assertThat(changed.isPresent(), is(true));
+        assertThat(changed.get().getPreviousFingerprint(), is("100|2024-01-01"));
+    }
+
+    @Test
+    void defaultInterval() {
+        assertThat(FastTransferTrigger.builder().build().getInterval(), is(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void fingerprintQueries() throws Exception {
+        List<String> queries = new ArrayList<>();
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            queries.add(sql);
+            return List.of(List.of(100L, "2024-01-01 00:00:00"));
+        });
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--sourceschema", "public")
+            .put("--sourcetable", "orders");
+
+        try (Connection connection = jdbc.driver().connect("jdbc:fake", null)) {
+            assertThat(Fingerprint.compute(connection, SourceQuery.of(new PostgresDialect(), command), "updated_at", null), is("100|2024-01-01 00:00:00"));
+            assertThat(Fingerprint.compute(connection, null, null, "SELECT n_live_tup FROM pg_stat_user_tables"), is("100|2024-01-01 00:00:00"));
+        }
+
+        assertThat(queries, contains(
+            "SELECT COUNT(*), MAX(\"updated_at\") FROM (SELECT * FROM \"public\".\"orders\") fp",
+            "SELECT n_live_tup FROM pg_stat_user_tables"
+        ));
+    }
+}
@@ -0,0 +1,31 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Driver;
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcEndpointTest {
+    @Test
+    void rejectedUrlLeftOutOfTheMessage() {
+        // un pilote qui ne reconnaît pas l'URL renvoie null plutôt qu'une erreur
+        Driver rejecting = (Driver) Proxy.newProxyInstance(Driver.class.getClassLoader(), new Class<?>[]{Driver.class}, (proxy, method, args) -> null);
+        JdbcEndpoint endpoint = JdbcEndpoint.of(new PostgresDialect() {
+            @Override
+            public Driver driver() {
+                return rejecting;
+            }
+        }, "jdbc:mysql://db:3306/tpch?user=admin&password=secret");
+
+        SQLException failure = assertThrows(SQLException.class, endpoint::connect);
+
+        assertThat(failure.getMessage(), is("The PostgreSQL driver does not accept the given URL"));
+        assertThat(failure.getMessage(), not(containsString("secret")));
+    }
+}
@@ -0,0 +1,51 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class KeyRangeTest {
+    @Test
+    void rangesCoverTheWholeKey() {
+        List<KeyRange> ranges = KeyRange.split(BigDecimal.ONE, BigDecimal.valueOf(100), 1_000, 4);
+
+        assertThat(ranges, hasSize(4));
+        assertThat(ranges.getFirst().lower(), nullValue());
+        assertThat(ranges.get(1).lower(), is(BigDecimal.valueOf(26)));
+        assertThat(ranges.get(2).lower(), is(BigDecimal.valueOf(51)));
+        assertThat(ranges.getLast().upper(), nullValue());
+        assertThat(ranges.stream().mapToLong(KeyRange::rows).sum(), is(1_000L));
+
+        assertThat(KeyRange.split(BigDecimal.ONE, BigDecimal.valueOf(3), 3, 8), hasSize(3));
+    }
+
+    @Test
+    void conditions() {
+        SqlServerDialect dialect = new SqlServerDialect();
+
+        assertThat(new KeyRange(null, BigDecimal.TEN, 0).condition(dialect, "id"), is("[id] < 10 OR [id] IS NULL"));
+        assertThat(new KeyRange(BigDecimal.ONE, BigDecimal.TEN, 0).condition(dialect, "id"), is("[id] >= 1 AND [id] < 10"));
+        assertThat(new KeyRange(BigDecimal.TEN, null, 0).condition(dialect, "id"), is("[id] >= 10"));
+    }
+
+    @Test
+    void mergeAdjacentRanges() {
+        List<KeyRange> merged = KeyRange.merge(List.of(
+            new KeyRange(BigDecimal.valueOf(20), null, 5),
+            new KeyRange(BigDecimal.valueOf(10), BigDecimal.valueOf(20), 3),
+            new KeyRange(null, BigDecimal.ONE, 1),
+            new KeyRange(BigDecimal.valueOf(2), BigDecimal.valueOf(5), 2)
+        ));
+
+        assertThat(merged, contains(
+            new KeyRange(null, BigDecimal.ONE, 1),
+            new KeyRange(BigDecimal.valueOf(2), BigDecimal.valueOf(5), 2),
+            new KeyRange(BigDecimal.valueOf(10), null, 8)
+        ));
+    }
+}
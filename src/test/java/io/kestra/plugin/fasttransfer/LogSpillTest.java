@@ -0,0 +1,57 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class LogSpillTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void spilledTranscriptStoredCompressed() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        LogSpill spill = new LogSpill(runContext);
+
+        spill.accept("Total rows : 1 000 000");
+        spill.accept("Élapsed : 12 s");
+        URI uri = spill.store();
+
+        assertThat(uri, notNullValue());
+        try (InputStream stored = new GZIPInputStream(runContext.storage().getFile(uri))) {
+            assertThat(new String(stored.readAllBytes(), StandardCharsets.UTF_8), is("Total rows : 1 000 000\nÉlapsed : 12 s\n"));
+        }
+
+        // une fois stocké, le fichier local est supprimé et les lignes suivantes ignorées
+        spill.accept("ignored");
+        assertThat(spill.store(), nullValue());
+        spill.close();
+    }
+
+    @Test
+    void closedSpillStoresNothing() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        LogSpill spill = new LogSpill(runContext);
+        spill.accept("Total rows : 42");
+
+        spill.close();
+
+        assertThat(spill.store(), nullValue());
+        try (var files = Files.list(runContext.workingDir().path())) {
+            assertThat(files.map(Path::toString).filter(name -> name.endsWith(".log.gz")).toList(), empty());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.kestra.plugin.fasttransfer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class LogTailTest {
+    @Test
+    void keepsLastLines() {
+        LogTail tail = new LogTail(2, 1024);
+        tail.accept("one");
+        tail.accept("two");
+        tail.accept("three");
+
+        assertThat(tail.toString(), is("two\nthree"));
+    }
+
+    @Test
+    void boundsCharacters() {
+        LogTail tail = new LogTail(100, 10);
+        tail.accept("aaaa");
+        tail.accept("bbbb");
+        tail.accept("cccc");
+
+        assertThat(tail.toString(), is("bbbb\ncccc"));
+    }
+
+    @Test
+    void keepsTruncatedLastLine() {
+        LogTail tail = new LogTail(100, 10);
+        tail.accept("aaaa");
+        tail.accept("0123456789abcdef");
+
+        assertThat(tail.toString(), is("...abcdef"));
+    }
+}
@@ -0,0 +1,62 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.MySqlDialect;
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class MergeLoadTest {
+    private static final List<String> COLUMNS = List.of("o_orderkey", "o_orderstatus");
+    private static final List<String> KEYS = List.of("o_orderkey");
+
+    @Test
+    void mergeStatements() {
+        assertThat(
+            new SqlServerDialect().merge("[dbo].[orders]", "[dbo].[ft_stage_1]", COLUMNS, KEYS, List.of()),
+            is("MERGE INTO [dbo].[orders] t USING [dbo].[ft_stage_1] s ON (t.[o_orderkey] = s.[o_orderkey])" +
+                " WHEN MATCHED THEN UPDATE SET t.[o_orderstatus] = s.[o_orderstatus]" +
+                " WHEN NOT MATCHED THEN INSERT ([o_orderkey], [o_orderstatus]) VALUES (s.[o_orderkey], s.[o_orderstatus]);")
+        );
+
+        assertThat(
+            new PostgresDialect().merge("\"orders\"", "\"ft_stage_1\"", COLUMNS, KEYS, List.of()),
+            is("INSERT INTO \"orders\" (\"o_orderkey\", \"o_orderstatus\") SELECT \"o_orderkey\", \"o_orderstatus\" FROM \"ft_stage_1\"" +
+                " ON CONFLICT (\"o_orderkey\") DO UPDATE SET \"o_orderstatus\" = EXCLUDED.\"o_orderstatus\"")
+        );
+    }
+
+    @Test
+    void keyOnlyTables() {
+        assertThat(
+            new SqlServerDialect().merge("[t]", "[s]", KEYS, KEYS, List.of()),
+            is("MERGE INTO [t] t USING [s] s ON (t.[o_orderkey] = s.[o_orderkey]) WHEN NOT MATCHED THEN INSERT ([o_orderkey]) VALUES (s.[o_orderkey]);")
+        );
+        assertThat(
+            new PostgresDialect().merge("\"t\"", "\"s\"", KEYS, KEYS, List.of()),
+            is("INSERT INTO \"t\" (\"o_orderkey\") SELECT \"o_orderkey\" FROM \"s\" ON CONFLICT (\"o_orderkey\") DO NOTHING")
+        );
+        assertThat(
+            new MySqlDialect().merge("`t`", "`s`", KEYS, KEYS, List.of()),
+            is("INSERT INTO `t` (`o_orderkey`) SELECT `o_orderkey` FROM `s` ON DUPLICATE KEY UPDATE `o_orderkey` = VALUES(`o_orderkey`)")
+        );
+    }
+
+    @Test
+    void identityColumns() {
+        List<String> columns = List.of("o_id", "o_orderkey", "o_orderstatus");
+        assertThat(
+            new SqlServerDialect().merge("[t]", "[s]", columns, KEYS, List.of("o_id")),
+            is("MERGE INTO [t] t USING [s] s ON (t.[o_orderkey] = s.[o_orderkey])" +
+                " WHEN MATCHED THEN UPDATE SET t.[o_orderstatus] = s.[o_orderstatus]" +
+                " WHEN NOT MATCHED THEN INSERT ([o_id], [o_orderkey], [o_orderstatus]) VALUES (s.[o_id], s.[o_orderkey], s.[o_orderstatus]);")
+        );
+        assertThat(new SqlServerDialect().identityInsert("[dbo].[t]", true), is("SET IDENTITY_INSERT [dbo].[t] ON"));
+        assertThat(new PostgresDialect().identityInsert("\"t\"", true), nullValue());
+    }
+}
@@ -0,0 +1,75 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class OutputParserTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void summary() {
+        RunContext runContext = runContextFactory.of(Map.of());
+        OutputParser parser = new OutputParser(runContext);
+
+        parser.accept("2025-01-01T10:00:00 -|- FastTransfer -|- INFORMATION -|- Degree : 2");
+        parser.accept("2025-01-01T10:00:00 -|- FastTransfer -|- INFORMATION -|- Method : Ntile");
+        parser.accept("2025-01-01T10:00:05 -|- FastTransfer -|- INFORMATION -|- Thread 0 completed : 1 000 rows");
+        parser.accept("2025-01-01T10:00:06 -|- FastTransfer -|- INFORMATION -|- Thread 1 completed : 2000 rows");
+        parser.accept("2025-01-01T10:00:06 -|- FastTransfer -|- INFORMATION -|- Total rows : 3000");
+        parser.accept("2025-01-01T10:00:06 -|- FastTransfer -|- INFORMATION -|- Total time : Elapsed=1500 ms");
+        parser.finish(Duration.ofSeconds(2));
+
+        OutputParser.Summary summary = parser.summary();
+        assertThat(summary.totalRows(), is(3000L));
+        assertThat(summary.elapsedMs(), is(1500L));
+        assertThat(summary.rowsPerSecond(), is(2000L));
+        assertThat(summary.degree(), is(2));
+        assertThat(summary.method(), is("Ntile"));
+        assertThat(summary.partitionRows(), is(Map.of("0", 1000L, "1", 2000L)));
+    }
+
+    @Test
+    void separatorsPrintedByFastTransfer() {
+        RunContext runContext = runContextFactory.of(Map.of());
+        OutputParser parser = new OutputParser(runContext);
+
+        parser.accept("Thread 0 completed : 1,000,000 rows");
+        parser.accept("Thread 1 completed : 2\u00a0500 rows");
+        // le point est le séparateur décimal, jamais celui des milliers
+        parser.accept("Throughput : 1.234 rows/s");
+
+        OutputParser.Summary summary = parser.summary();
+        assertThat(summary.partitionRows(), is(Map.of("0", 1_000_000L, "1", 2_500L)));
+        assertThat(summary.rowsPerSecond(), is(1L));
+    }
+
+    @Test
+    void throughputPublishedAsRowDuration() {
+        RunContext runContext = runContextFactory.of(Map.of());
+        OutputParser parser = new OutputParser(runContext);
+
+        parser.accept("Total rows : 4000");
+        parser.accept("Throughput : 2,000 rows/s");
+        parser.finish(Duration.ofSeconds(2));
+
+        AbstractMetricEntry<?> metric = runContext.metrics().stream()
+            .filter(entry -> entry.getName().equals(OutputParser.ROW_DURATION))
+            .findFirst()
+            .orElseThrow();
+        assertThat(metric, instanceOf(Timer.class));
+        assertThat(metric.getValue(), is(Duration.ofNanos(500_000)));
+    }
+}
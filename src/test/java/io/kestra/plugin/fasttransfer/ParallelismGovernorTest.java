@@ -0,0 +1,62 @@
+package io.kestra.plugin.fasttransfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ParallelismGovernorTest {
+    private static final String PROPERTY = "fasttransfer.governor.test-limit";
+    private static final String ENVIRONMENT = "FASTTRANSFER_GOVERNOR_TEST_LIMIT";
+
+    @Test
+    void limits() {
+        try {
+            assertThat(ParallelismGovernor.limit(PROPERTY, ENVIRONMENT), is(Runtime.getRuntime().availableProcessors()));
+
+            System.setProperty(PROPERTY, " 6 ");
+            assertThat(ParallelismGovernor.limit(PROPERTY, ENVIRONMENT), is(6));
+
+            System.setProperty(PROPERTY, "0");
+            assertThat(ParallelismGovernor.limit(PROPERTY, ENVIRONMENT), is(0));
+        } finally {
+            System.clearProperty(PROPERTY);
+        }
+    }
+
+    @Test
+    void degreeCappedToTheWorkerBudget() throws Exception {
+        AdmissionBudget worker = new AdmissionBudget(4, 8);
+
+        // un degré plus grand que tout le budget ne tiendrait jamais, le premier processus reçoit tout au lieu d'attendre
+        try (AdmissionBudget.Permit capped = worker.acquire(32, false)) {
+            assertThat(capped.degree(), is(8));
+        }
+
+        try (AdmissionBudget.Permit first = worker.acquire(6, false);
+             AdmissionBudget.Permit scaled = worker.acquire(6, true)) {
+            assertThat(first.degree(), is(6));
+            assertThat(scaled.degree(), is(2));
+
+            CompletableFuture<AdmissionBudget.Permit> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return worker.acquire(10, false);
+                } catch (InterruptedException e) {
+                    throw new CompletionException(e);
+                }
+            });
+            Thread.sleep(200);
+            assertThat(waiting.isDone(), is(false));
+
+            // le budget agrandi réévalue la demande en attente, qui tient maintenant en entier
+            worker.resize(4, 18);
+            try (AdmissionBudget.Permit admitted = waiting.get(5, TimeUnit.SECONDS)) {
+                assertThat(admitted.degree(), is(10));
+            }
+        }
+    }
+}
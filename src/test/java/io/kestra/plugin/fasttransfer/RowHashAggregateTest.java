@@ -0,0 +1,52 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.MySqlDialect;
+import io.kestra.plugin.fasttransfer.dialect.OracleDialect;
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RowHashAggregateTest {
+    private static final List<String> COLUMNS = List.of("o_comment", "o_clerk");
+
+    @Test
+    void sqlServer() {
+        assertThat(new SqlServerDialect().rowHashAggregate(COLUMNS), is(
+            "SUM(CONVERT(DECIMAL(38, 0), CONVERT(BIGINT, SUBSTRING(HASHBYTES('SHA2_256', CONCAT(" +
+                "IIF([o_comment] IS NULL, N'N', CONCAT(LEN(CONCAT([o_comment], N'.')) - 1, N':', [o_comment])), " +
+                "IIF([o_clerk] IS NULL, N'N', CONCAT(LEN(CONCAT([o_clerk], N'.')) - 1, N':', [o_clerk])), N'')), 1, 7))))"
+        ));
+        assertThat(new SqlServerDialect().rowHashAggregate(COLUMNS), not(containsString("CHECKSUM")));
+    }
+
+    @Test
+    void oracle() {
+        assertThat(new OracleDialect().rowHashAggregate(COLUMNS), is(
+            "SUM(TO_NUMBER(SUBSTR(RAWTOHEX(STANDARD_HASH(" +
+                "NVL2(\"o_comment\", LENGTH(\"o_comment\") || ':' || \"o_comment\", 'N') || " +
+                "NVL2(\"o_clerk\", LENGTH(\"o_clerk\") || ':' || \"o_clerk\", 'N'), 'SHA256')), 1, 15), 'XXXXXXXXXXXXXXX'))"
+        ));
+    }
+
+    @Test
+    void mySql() {
+        assertThat(new MySqlDialect().rowHashAggregate(COLUMNS), is(
+            "SUM(CAST(CONV(LEFT(MD5(CONCAT(" +
+                "IF(`o_comment` IS NULL, 'N', CONCAT(CHAR_LENGTH(`o_comment`), ':', `o_comment`)), " +
+                "IF(`o_clerk` IS NULL, 'N', CONCAT(CHAR_LENGTH(`o_clerk`), ':', `o_clerk`)))), 15), 16, 10) AS UNSIGNED))"
+        ));
+    }
+
+    @Test
+    void postgres() {
+        // the text of a ROW already writes a NULL as nothing and an empty string as ""
+        assertThat(new PostgresDialect().rowHashAggregate(COLUMNS), is(
+            "SUM(('x' || LEFT(md5(ROW(\"o_comment\", \"o_clerk\")::text), 15))::bit(60)::bigint::numeric)"
+        ));
+    }
+}
@@ -0,0 +1,58 @@
+package io.kestra.plugin.fasttransfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RunningProcessesTest {
+    @Test
+    void killTerminatesTheWholeTree() throws Exception {
+        RunningProcesses running = new RunningProcesses();
+        running.gracePeriod(Duration.ofMillis(500));
+        Process polite = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60 & wait").start();
+        // SIGTERM ignored by the shell and by its children, only the forcible termination ends them
+        Process stubborn = new ProcessBuilder("sh", "-c", "trap '' TERM; sleep 60 & sleep 60 & wait").start();
+        running.register(polite);
+        running.register(stubborn);
+        List<ProcessHandle> tree = List.of(children(polite, 2), children(stubborn, 2), List.of(polite.toHandle(), stubborn.toHandle()))
+            .stream().flatMap(List::stream).toList();
+
+        Instant start = Instant.now();
+        running.kill();
+
+        for (ProcessHandle process : tree) {
+            // the forcible termination is not waited for, only sent
+            process.onExit().get(5, TimeUnit.SECONDS);
+        }
+        assertThat(running.isKilled(), is(true));
+        assertThat(Duration.between(start, Instant.now()), lessThan(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void processRegisteredAfterTheKillIsTerminated() throws Exception {
+        RunningProcesses running = new RunningProcesses();
+        running.gracePeriod(Duration.ofMillis(500));
+        running.kill();
+
+        Process late = new ProcessBuilder("sleep", "60").start();
+        running.register(late);
+
+        assertThat(late.waitFor(5, TimeUnit.SECONDS), is(true));
+    }
+
+    private static List<ProcessHandle> children(Process process, int count) throws InterruptedException {
+        // the shell starts its children asynchronously
+        for (int i = 0; i < 100 && process.toHandle().descendants().count() < count; i++) {
+            Thread.sleep(20);
+        }
+        List<ProcessHandle> children = process.toHandle().descendants().toList();
+        assertThat(children, hasSize(count));
+        return children;
+    }
+}
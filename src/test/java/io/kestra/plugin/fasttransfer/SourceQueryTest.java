@@ -0,0 +1,62 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class SourceQueryTest {
+    @Test
+    void restrictTableOrQuery() {
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--sourceschema", "dbo")
+            .put("--sourcetable", "orders");
+
+        SourceQuery query = SourceQuery.of(new SqlServerDialect(), command)
+            .where("[o_orderdate] > '2024-01-01 00:00:00.0'");
+        assertThat(query.toSql(), is("SELECT * FROM [dbo].[orders] WHERE ([o_orderdate] > '2024-01-01 00:00:00.0')"));
+
+        query.applyTo(command);
+        assertThat(command.get("--sourcetable"), nullValue());
+        assertThat(command.sourceTable(), is("orders"));
+        assertThat(command.get("--query"), is(query.toSql()));
+
+        SourceQuery wrapped = SourceQuery.query(new PostgresDialect(), "SELECT * FROM orders WHERE o_orderstatus = 'F'")
+            .where("\"o_orderkey\" <= 100")
+            .orderBy("o_orderkey");
+        assertThat(wrapped.toSql(), is("SELECT * FROM (SELECT * FROM orders WHERE o_orderstatus = 'F') src WHERE (\"o_orderkey\" <= 100) ORDER BY \"o_orderkey\""));
+    }
+
+    @Test
+    void projection() {
+        List<String> source = List.of("o_orderkey", "o_custkey", "o_comment", "o_orderdate");
+        List<String> target = List.of("O_ORDERKEY", "O_ORDERDATE", "o_totalprice");
+
+        assertThat(SourceQuery.projection(source, target, "Name"), is(List.of("o_orderkey", "o_orderdate")));
+        assertThat(SourceQuery.projection(source, target, "Position"), is(List.of("o_orderkey", "o_custkey", "o_comment")));
+        assertThat(SourceQuery.projection(source, target, null), is(List.of("o_orderkey", "o_custkey", "o_comment")));
+        assertThat(SourceQuery.projection(source, List.of("x"), "Name"), is(List.of()));
+
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--sourceschema", "dbo")
+            .put("--sourcetable", "orders");
+        SourceQuery.of(new SqlServerDialect(), command).select(SourceQuery.projection(source, target, "Name")).applyTo(command);
+        assertThat(command.get("--query"), is("SELECT [o_orderkey], [o_orderdate] FROM [dbo].[orders]"));
+    }
+
+    @Test
+    void literals() {
+        Timestamp timestamp = Timestamp.valueOf("2024-01-01 10:00:00");
+
+        assertThat(new PostgresDialect().literal(timestamp), is("TIMESTAMP '2024-01-01 10:00:00.0'"));
+        assertThat(new SqlServerDialect().literal(timestamp), is("'2024-01-01 10:00:00.0'"));
+        assertThat(new PostgresDialect().literal("O'Brien"), is("'O''Brien'"));
+        assertThat(new SqlServerDialect().literal("O'Brien"), is("N'O''Brien'"));
+    }
+}
@@ -0,0 +1,243 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.Dialect;
+import io.kestra.plugin.fasttransfer.dialect.MySqlDialect;
+import io.kestra.plugin.fasttransfer.dialect.OracleDialect;
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import io.kestra.plugin.fasttransfer.dialect.TableObject;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SuspendedObjectsTest {
+    private static final EnumSet<TableObject.Kind> ALL = EnumSet.allOf(TableObject.Kind.class);
+
+    @Test
+    void sqlServerObjects() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            if (sql.contains("sys.indexes")) {
+                return List.of(
+                    row(1, "pk_orders", 1, true, true, false, null, "id", false, false),
+                    row(2, "ix_customer", 2, false, false, false, null, "customer_id", false, false),
+                    row(2, "ix_customer", 2, false, false, false, null, "order_date", true, false),
+                    row(2, "ix_customer", 2, false, false, false, null, "amount", false, true)
+                );
+            }
+            if (sql.contains("sys.foreign_keys")) {
+                return List.of(List.of("fk_customer", "WITH CHECK CHECK"));
+            }
+            if (sql.contains("sys.triggers")) {
+                return List.of(List.of("tr_audit"));
+            }
+            return List.of();
+        });
+
+        List<TableObject> objects = suspendable(new SqlServerDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, jdbc, "dbo", "orders");
+
+        assertThat(objects, contains(
+            new TableObject(TableObject.Kind.INDEX, "ix_customer",
+                "DROP INDEX [ix_customer] ON [dbo].[orders]",
+                "CREATE NONCLUSTERED INDEX [ix_customer] ON [dbo].[orders] ([customer_id], [order_date] DESC) INCLUDE ([amount])"),
+            new TableObject(TableObject.Kind.FOREIGN_KEY, "fk_customer",
+                "ALTER TABLE [dbo].[orders] NOCHECK CONSTRAINT [fk_customer]",
+                "ALTER TABLE [dbo].[orders] WITH CHECK CHECK CONSTRAINT [fk_customer]"),
+            new TableObject(TableObject.Kind.TRIGGER, "tr_audit",
+                "DISABLE TRIGGER [tr_audit] ON [dbo].[orders]",
+                "ENABLE TRIGGER [tr_audit] ON [dbo].[orders]")
+        ));
+    }
+
+    @Test
+    void postgresObjects() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            if (sql.contains("pg_index")) {
+                return List.of(List.of("ix_customer", "CREATE INDEX ix_customer ON public.orders USING btree (customer_id)"));
+            }
+            if (sql.contains("pg_constraint")) {
+                return List.of(List.of("fk_customer", "FOREIGN KEY (customer_id) REFERENCES customers(id)"));
+            }
+            if (sql.contains("pg_trigger")) {
+                return List.of(List.of("tr_audit"));
+            }
+            return List.of();
+        });
+
+        List<TableObject> objects = suspendable(new PostgresDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, jdbc, "public", "orders");
+
+        assertThat(objects, contains(
+            new TableObject(TableObject.Kind.INDEX, "ix_customer",
+                "DROP INDEX \"public\".\"ix_customer\"",
+                "CREATE INDEX ix_customer ON public.orders USING btree (customer_id)"),
+            new TableObject(TableObject.Kind.FOREIGN_KEY, "fk_customer",
+                "ALTER TABLE \"public\".\"orders\" DROP CONSTRAINT \"fk_customer\"",
+                "ALTER TABLE \"public\".\"orders\" ADD CONSTRAINT \"fk_customer\" FOREIGN KEY (customer_id) REFERENCES customers(id)"),
+            new TableObject(TableObject.Kind.TRIGGER, "tr_audit",
+                "ALTER TABLE \"public\".\"orders\" DISABLE TRIGGER \"tr_audit\"",
+                "ALTER TABLE \"public\".\"orders\" ENABLE TRIGGER \"tr_audit\"")
+        ));
+    }
+
+    @Test
+    void oracleObjects() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            if (sql.contains("all_indexes")) {
+                return List.of(List.of("TPCH", "IX_CUSTOMER"));
+            }
+            if (sql.contains("all_constraints")) {
+                return List.of(List.of("FK_CUSTOMER"));
+            }
+            if (sql.contains("all_triggers")) {
+                return List.of(List.of("TPCH", "TR_AUDIT"));
+            }
+            return List.of();
+        });
+
+        List<TableObject> objects = suspendable(new OracleDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, jdbc, "TPCH", "ORDERS");
+
+        assertThat(objects, contains(
+            new TableObject(TableObject.Kind.INDEX, "IX_CUSTOMER",
+                "ALTER INDEX \"TPCH\".\"IX_CUSTOMER\" UNUSABLE",
+                "ALTER INDEX \"TPCH\".\"IX_CUSTOMER\" REBUILD"),
+            new TableObject(TableObject.Kind.FOREIGN_KEY, "FK_CUSTOMER",
+                "ALTER TABLE \"TPCH\".\"ORDERS\" DISABLE CONSTRAINT \"FK_CUSTOMER\"",
+                "ALTER TABLE \"TPCH\".\"ORDERS\" ENABLE CONSTRAINT \"FK_CUSTOMER\""),
+            new TableObject(TableObject.Kind.TRIGGER, "TR_AUDIT",
+                "ALTER TRIGGER \"TPCH\".\"TR_AUDIT\" DISABLE",
+                "ALTER TRIGGER \"TPCH\".\"TR_AUDIT\" ENABLE")
+        ));
+    }
+
+    @Test
+    void mySqlIndexesOnly() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> sql.contains("information_schema.statistics")
+            ? List.of(List.of("ix_customer", "`customer_id`, `order_date`"))
+            : List.of()
+        );
+
+        List<TableObject> objects = suspendable(new MySqlDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, jdbc, "tpch", "orders");
+
+        assertThat(objects, contains(
+            new TableObject(TableObject.Kind.INDEX, "ix_customer",
+                "ALTER TABLE `tpch`.`orders` DROP INDEX `ix_customer`",
+                "ALTER TABLE `tpch`.`orders` ADD INDEX `ix_customer` (`customer_id`, `order_date`)")
+        ));
+    }
+
+    @Test
+    void suspendThenRestore() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            if (sql.contains("pg_index")) {
+                return List.of(List.of("ix_customer", "CREATE INDEX ix_customer ON public.orders USING btree (customer_id)"));
+            }
+            if (sql.contains("pg_trigger")) {
+                return List.of(List.of("tr_audit"));
+            }
+            return List.of();
+        });
+        JdbcEndpoint target = JdbcEndpoint.of(new PostgresDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, "jdbc:fake");
+        FakeKvStore kv = new FakeKvStore();
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--targetconnectiontype", "pgcopy")
+            .put("--targetserver", "localhost:5432")
+            .put("--targetschema", "public")
+            .put("--targettable", "orders");
+
+        SuspendedObjects suspended = SuspendedObjects.suspend(kv.store(), target, command, ALL);
+
+        assertThat(jdbc.executed, contains(
+            "DROP INDEX \"public\".\"ix_customer\"",
+            "ALTER TABLE \"public\".\"orders\" DISABLE TRIGGER \"tr_audit\""
+        ));
+        assertThat(kv.values.keySet(), contains(suspended.key()));
+
+        jdbc.executed.clear();
+        suspended.restore(2);
+
+        assertThat(jdbc.executed, contains(
+            "CREATE INDEX ix_customer ON public.orders USING btree (customer_id)",
+            "ALTER TABLE \"public\".\"orders\" ENABLE TRIGGER \"tr_audit\"",
+            "ANALYZE \"public\".\"orders\""
+        ));
+        assertThat(kv.values.isEmpty(), is(true));
+    }
+
+    @Test
+    void restoreObjectsLeftSuspendedByAFailedRun() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> sql.contains("pg_index")
+            ? List.of(List.of("ix_customer", "CREATE INDEX ix_customer ON public.orders USING btree (customer_id)"))
+            : List.of()
+        );
+        JdbcEndpoint target = JdbcEndpoint.of(new PostgresDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, "jdbc:fake");
+        FakeKvStore kv = new FakeKvStore();
+        FastTransferCommand command = new FastTransferCommand()
+            .put("--targetschema", "public")
+            .put("--targettable", "orders");
+
+        // la première exécution s'arrête avant de les restaurer, l'index n'est plus listé par le catalogue
+        SuspendedObjects.suspend(kv.store(), target, command, ALL);
+        FakeJdbc after = new FakeJdbc(sql -> List.of());
+        JdbcEndpoint suspendedTarget = JdbcEndpoint.of(new PostgresDialect() {
+            @Override
+            public Driver driver() {
+                return after.driver();
+            }
+        }, "jdbc:fake");
+
+        SuspendedObjects.suspend(kv.store(), suspendedTarget, command, ALL).restore(1);
+
+        assertThat(after.executed, contains(
+            "CREATE INDEX ix_customer ON public.orders USING btree (customer_id)",
+            "ANALYZE \"public\".\"orders\""
+        ));
+        assertThat(kv.values.isEmpty(), is(true));
+    }
+
+    private static List<TableObject> suspendable(Dialect dialect, FakeJdbc jdbc, String schema, String table) throws Exception {
+        try (Connection connection = jdbc.driver().connect("jdbc:fake", null)) {
+            return dialect.suspendable(connection, schema, table, ALL);
+        }
+    }
+
+    private static List<Object> row(Object... values) {
+        // List.of refuse les null
+        return Arrays.asList(values);
+    }
+}
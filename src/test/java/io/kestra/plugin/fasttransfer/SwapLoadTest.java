@@ -0,0 +1,102 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.OracleDialect;
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import io.kestra.plugin.fasttransfer.dialect.SqlServerDialect;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Driver;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SwapLoadTest {
+    private final FastTransferCommand command = new FastTransferCommand()
+        .put("--targetconnectiontype", "pgcopy")
+        .put("--targetserver", "localhost:5432")
+        .put("--targetschema", "public")
+        .put("--targettable", "orders")
+        .put("--loadmode", SwapLoad.MODE);
+
+    @Test
+    void blockedTargetRefusedBeforeTheLoad() {
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            if (sql.contains("relkind = 'S'")) {
+                return List.of(List.of("orders_id_seq"));
+            }
+            if (sql.contains("pg_rewrite")) {
+                return List.of(List.of("v_orders"));
+            }
+            if (sql.contains("confrelid")) {
+                return List.of(List.of("fk_lines_order"));
+            }
+            return List.of();
+        });
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SwapLoad.prepare(postgres(jdbc), command));
+
+        assertThat(e.getMessage(), is("`loadMode: Swap` cannot replace orders, because of its " +
+            "sequence orders_id_seq of a serial or identity column, view v_orders, foreign key fk_lines_order"));
+        // aucune table fantôme créée
+        assertThat(jdbc.executed, empty());
+    }
+
+    @Test
+    void sqlServerCheckConstraintRefused() {
+        FakeJdbc jdbc = new FakeJdbc(sql -> sql.contains("sys.check_constraints") ? List.of(List.of("ck_amount")) : List.of());
+        JdbcEndpoint target = JdbcEndpoint.of(new SqlServerDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, "jdbc:fake");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SwapLoad.prepare(target, command));
+
+        assertThat(e.getMessage(), containsString("CHECK constraint ck_amount"));
+        assertThat(jdbc.executed, empty());
+    }
+
+    @Test
+    void unsupportedEngineRefused() {
+        FakeJdbc jdbc = new FakeJdbc(sql -> List.of());
+        JdbcEndpoint target = JdbcEndpoint.of(new OracleDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, "jdbc:fake");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SwapLoad.prepare(target, command));
+
+        assertThat(e.getMessage(), startsWith("`loadMode: Swap` is not supported on"));
+        assertThat(jdbc.executed, empty());
+    }
+
+    @Test
+    void shadowLoadedInAppend() throws Exception {
+        FakeJdbc jdbc = new FakeJdbc(sql -> List.of());
+
+        SwapLoad swap = SwapLoad.prepare(postgres(jdbc), command);
+
+        assertThat(swap.shadow(), startsWith(SwapLoad.SHADOW_PREFIX));
+        assertThat(swap.command().get("--targettable"), is(swap.shadow()));
+        assertThat(swap.command().get("--loadmode"), is("Append"));
+        assertThat(command.get("--targettable"), is("orders"));
+        assertThat(jdbc.executed, contains(
+            "DROP TABLE \"public\".\"" + swap.shadow() + "\"",
+            "CREATE TABLE \"public\".\"" + swap.shadow() + "\" (LIKE \"public\".\"orders\" INCLUDING ALL)"
+        ));
+    }
+
+    private static JdbcEndpoint postgres(FakeJdbc jdbc) {
+        return JdbcEndpoint.of(new PostgresDialect() {
+            @Override
+            public Driver driver() {
+                return jdbc.driver();
+            }
+        }, "jdbc:fake");
+    }
+}
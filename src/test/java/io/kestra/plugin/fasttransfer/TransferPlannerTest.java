@@ -0,0 +1,59 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.KeyColumn;
+import io.kestra.plugin.fasttransfer.dialect.TableStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class TransferPlannerTest {
+    private static final long GB = 1024L * 1024 * 1024;
+
+    @Test
+    void smallTableUsesSingleStream() {
+        TransferPlanner.Plan plan = TransferPlanner.plan(
+            new TableStatistics("dbo", "nation", 25, 8192), List.of(new KeyColumn("n_nationkey", true)), "Physloc", 16
+        );
+
+        assertThat(plan.degree(), is(1));
+        assertThat(plan.method(), is("None"));
+        assertThat(plan.distributeKeyColumn(), nullValue());
+    }
+
+    @Test
+    void largeTableSplitsOnKeyOrRowLocation() {
+        TableStatistics lineitem = new TableStatistics("dbo", "lineitem", 60_000_000, 6 * GB);
+
+        TransferPlanner.Plan numeric = TransferPlanner.plan(lineitem, List.of(new KeyColumn("l_orderkey", true)), "Physloc", 4);
+        assertThat(numeric.degree(), is(4));
+        assertThat(numeric.method(), is("RangeId"));
+        assertThat(numeric.distributeKeyColumn(), is("l_orderkey"));
+        assertThat(numeric.batchSize(), is(524_288));
+
+        TransferPlanner.Plan keyless = TransferPlanner.plan(lineitem, List.of(new KeyColumn("l_comment", false)), "Ctid", 16);
+        assertThat(keyless.degree(), is(6));
+        assertThat(keyless.method(), is("Ctid"));
+
+        TransferPlanner.Plan ntile = TransferPlanner.plan(lineitem, List.of(new KeyColumn("l_comment", false)), null, 16);
+        assertThat(ntile.method(), is("Ntile"));
+        assertThat(ntile.distributeKeyColumn(), is("l_comment"));
+    }
+
+    @Test
+    void applyKeepsExplicitSettings() {
+        FastTransferCommand command = new FastTransferCommand()
+            .put(FastTransferCommand.METHOD, "DataDriven")
+            .put("--distributekeycolumn", "l_shipmode");
+
+        TransferPlanner.apply(new TransferPlanner.Plan(6, "RangeId", "l_orderkey", 65_536), command, true);
+
+        assertThat(command.get(FastTransferCommand.DEGREE), is("6"));
+        assertThat(command.get(FastTransferCommand.METHOD), is("DataDriven"));
+        assertThat(command.get("--distributekeycolumn"), is("l_shipmode"));
+        assertThat(command.get("--batchsize"), is("65536"));
+    }
+}
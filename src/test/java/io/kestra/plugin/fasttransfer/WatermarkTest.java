@@ -0,0 +1,100 @@
+package io.kestra.plugin.fasttransfer;
+
+import io.kestra.plugin.fasttransfer.dialect.PostgresDialect;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class WatermarkTest {
+    private static final PostgresDialect DIALECT = new PostgresDialect();
+
+    private final FastTransferCommand command = command();
+
+    @Test
+    void keyDerivedFromTheTransferAndTheColumn() {
+        FakeKvStore kv = new FakeKvStore();
+
+        String key = Watermark.of(kv.store(), command, "o_updated_at", null).key();
+
+        assertThat(key, startsWith(Watermark.KEY_PREFIX));
+        assertThat(Watermark.of(kv.store(), command.copy(), "o_updated_at", null).key(), is(key));
+        assertThat(Watermark.of(kv.store(), command, "o_orderkey", null).key(), not(is(key)));
+        assertThat(Watermark.of(kv.store(), command, "o_updated_at", "orders.hwm").key(), is("orders.hwm"));
+    }
+
+    @Test
+    void advancedAfterEachRun() throws Exception {
+        FakeKvStore kv = new FakeKvStore();
+        List<String> queries = new ArrayList<>();
+        FakeJdbc jdbc = new FakeJdbc(sql -> {
+            queries.add(sql);
+            return List.of(List.of(queries.size() == 1 ? 100L : 250L));
+        });
+        Watermark watermark = Watermark.of(kv.store(), command, "o_orderkey", null);
+
+        assertThat(watermark.last(), is(Optional.empty()));
+        assertThat(high(watermark, jdbc, null), is(Optional.of("100")));
+        assertThat(queries.get(0), is("SELECT MAX(\"o_orderkey\") FROM (SELECT * FROM \"public\".\"orders\") hwm"));
+        watermark.advance("100");
+
+        String lower = watermark.last().orElseThrow();
+        assertThat(lower, is("100"));
+        assertThat(high(watermark, jdbc, lower), is(Optional.of("250")));
+        assertThat(queries.get(1), is("SELECT MAX(\"o_orderkey\") FROM (SELECT * FROM \"public\".\"orders\" WHERE (\"o_orderkey\" > 100)) hwm"));
+        assertThat(
+            watermark.upTo(watermark.after(SourceQuery.of(DIALECT, command), lower), "250").toSql(),
+            is("SELECT * FROM \"public\".\"orders\" WHERE (\"o_orderkey\" > 100) AND (\"o_orderkey\" <= 250)")
+        );
+    }
+
+    @Test
+    void noRowAfterTheWatermark() throws Exception {
+        FakeKvStore kv = new FakeKvStore();
+        // MAX d'un ensemble vide
+        FakeJdbc jdbc = new FakeJdbc(sql -> List.of(Arrays.asList((Object) null)));
+        Watermark watermark = Watermark.of(kv.store(), command, "o_orderkey", null);
+        watermark.advance("250");
+
+        assertThat(high(watermark, jdbc, watermark.last().orElseThrow()), is(Optional.empty()));
+        assertThat(watermark.last(), is(Optional.of("250")));
+    }
+
+    @Test
+    void failedRunTransfersTheSameRowsAgain() throws Exception {
+        FakeKvStore kv = new FakeKvStore();
+        FakeJdbc jdbc = new FakeJdbc(sql -> List.of(List.of(250L)));
+        Watermark watermark = Watermark.of(kv.store(), command, "o_orderkey", null);
+        watermark.advance("100");
+
+        // la première exécution lit sa borne puis échoue, la marque n'est avancée qu'après un transfert réussi
+        String first = watermark.last().orElseThrow();
+        assertThat(high(watermark, jdbc, first), is(Optional.of("250")));
+
+        Watermark retry = Watermark.of(kv.store(), command, "o_orderkey", null);
+        assertThat(retry.last(), is(Optional.of("100")));
+        assertThat(
+            retry.after(SourceQuery.of(DIALECT, command), retry.last().orElseThrow()).toSql(),
+            is(watermark.after(SourceQuery.of(DIALECT, command), first).toSql())
+        );
+    }
+
+    private static Optional<String> high(Watermark watermark, FakeJdbc jdbc, String lower) throws Exception {
+        try (Connection connection = jdbc.driver().connect("jdbc:fake", null)) {
+            return watermark.high(connection, watermark.after(SourceQuery.of(DIALECT, command()), lower));
+        }
+    }
+
+    private static FastTransferCommand command() {
+        return new FastTransferCommand()
+            .put("--sourceschema", "public")
+            .put("--sourcetable", "orders")
+            .put("--targettable", "orders");
+    }
+}